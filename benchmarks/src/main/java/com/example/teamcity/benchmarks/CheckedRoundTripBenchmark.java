@@ -0,0 +1,50 @@
+package com.example.teamcity.benchmarks;
+
+import com.example.teamcity.api.generators.TestDataGenerator;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.requests.checked.CheckedProject;
+import com.example.teamcity.api.requests.unchecked.UncheckedProject;
+import com.example.teamcity.api.spec.Specifications;
+import com.example.teamcity.api.stub.TeamCityStub;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checked project create plus its delete against the in-process {@link TeamCityStub}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckedRoundTripBenchmark {
+    private RequestSpecification spec;
+
+    @Setup
+    public void setup() {
+        spec = new RequestSpecBuilder()
+                .addRequestSpecification(Specifications.getSpec().superUserSpec())
+                .setBaseUri("http://" + TeamCityStub.getStub().getAddress())
+                .build();
+    }
+
+    @Benchmark
+    public Project createProject() {
+        var project = new CheckedProject(spec).create(TestDataGenerator.generate().getProject());
+        new UncheckedProject(spec).delete(project.getId());
+        return project;
+    }
+}
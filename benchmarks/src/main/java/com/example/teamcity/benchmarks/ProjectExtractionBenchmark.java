@@ -0,0 +1,106 @@
+package com.example.teamcity.benchmarks;
+
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.json.JsonProjection;
+import com.example.teamcity.api.models.Project;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading id and name of a project response: full mapping the way the Checked requests do it against
+ * {@link JsonProjection}. The payload mimics TeamCity's project JSON with a parent, parameters and build types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectExtractionBenchmark {
+    @Param({"0", "50", "500"})
+    private int buildTypes;
+
+    private Response response;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        var project = new JsonObject();
+        project.addProperty("id", "Project_Id");
+        project.addProperty("name", "Project name");
+        project.addProperty("parentProjectId", "_Root");
+        project.addProperty("href", "/app/rest/projects/id:Project_Id");
+        project.addProperty("webUrl", "https://teamcity.example.com/project.html?projectId=Project_Id");
+        var parent = new JsonObject();
+        parent.addProperty("id", "_Root");
+        parent.addProperty("name", "<Root project>");
+        parent.addProperty("href", "/app/rest/projects/id:_Root");
+        project.add("parentProject", parent);
+        var buildTypeList = new JsonArray();
+        for (int i = 0; i < buildTypes; i++) {
+            var buildType = new JsonObject();
+            buildType.addProperty("id", "Project_Id_Build" + i);
+            buildType.addProperty("name", "Build " + i);
+            buildType.addProperty("projectName", "Project name");
+            buildType.addProperty("projectId", "Project_Id");
+            buildType.addProperty("href", "/app/rest/buildTypes/id:Project_Id_Build" + i);
+            buildType.addProperty("webUrl", "https://teamcity.example.com/viewType.html?buildTypeId=Project_Id_Build" + i);
+            buildTypeList.add(buildType);
+        }
+        var buildTypesObject = new JsonObject();
+        buildTypesObject.addProperty("count", buildTypes);
+        buildTypesObject.add("buildType", buildTypeList);
+        project.add("buildTypes", buildTypesObject);
+        var parameters = new JsonArray();
+        for (int i = 0; i < 20; i++) {
+            var property = new JsonObject();
+            property.addProperty("name", "env.VARIABLE_" + i);
+            property.addProperty("value", "value " + i);
+            parameters.add(property);
+        }
+        var parametersObject = new JsonObject();
+        parametersObject.addProperty("count", 20);
+        parametersObject.add("property", parameters);
+        project.add("parameters", parametersObject);
+
+        var json = project.toString();
+        body = json.getBytes(StandardCharsets.UTF_8);
+        response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(json)
+                .build();
+    }
+
+    @Benchmark
+    public String fullMapping() {
+        return response.as(Project.class, JsonMapper.getMapper()).getId();
+    }
+
+    @Benchmark
+    public String projection() {
+        return JsonProjection.read(body, "id", "name").get("id");
+    }
+
+    @Benchmark
+    public String projectionOfNestedField() {
+        return JsonProjection.read(body, "parentProject.id").get("parentProject.id");
+    }
+}
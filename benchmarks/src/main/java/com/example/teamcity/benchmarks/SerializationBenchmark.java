@@ -0,0 +1,98 @@
+package com.example.teamcity.benchmarks;
+
+import com.example.teamcity.api.generators.TestData;
+import com.example.teamcity.api.generators.TestDataGenerator;
+import com.example.teamcity.api.json.JsonMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private final Gson gson = new Gson();
+    private final Gson sharedGson = JsonMapper.getMapper().getGson();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TestData testData;
+
+    @Setup
+    public void setup() {
+        testData = TestDataGenerator.generate();
+    }
+
+    @Benchmark
+    public String gsonProjectDescription() {
+        return gson.toJson(testData.getProject());
+    }
+
+    @Benchmark
+    public String sharedMapperProjectDescription() {
+        return sharedGson.toJson(testData.getProject());
+    }
+
+    @Benchmark
+    public String jacksonProjectDescription() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(testData.getProject());
+    }
+
+    @Benchmark
+    public String gsonBuildType() {
+        return gson.toJson(testData.getBuildType());
+    }
+
+    @Benchmark
+    public String sharedMapperBuildType() {
+        return sharedGson.toJson(testData.getBuildType());
+    }
+
+    @Benchmark
+    public String jacksonBuildType() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(testData.getBuildType());
+    }
+
+    @Benchmark
+    public String gsonUser() {
+        return gson.toJson(testData.getUser());
+    }
+
+    @Benchmark
+    public String sharedMapperUser() {
+        return sharedGson.toJson(testData.getUser());
+    }
+
+    @Benchmark
+    public String jacksonUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(testData.getUser());
+    }
+
+    @Benchmark
+    public String gsonRoles() {
+        return gson.toJson(testData.getUser().getRoles());
+    }
+
+    @Benchmark
+    public String sharedMapperRoles() {
+        return sharedGson.toJson(testData.getUser().getRoles());
+    }
+
+    @Benchmark
+    public String jacksonRoles() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(testData.getUser().getRoles());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.teamcity.benchmarks;
+
+import com.example.teamcity.api.generators.TestDataGenerator;
+import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.spec.Specifications;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationsBenchmark {
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = TestDataGenerator.generate().getUser();
+    }
+
+    @Benchmark
+    public RequestSpecification authSpecBuilt() {
+        Specifications.getSpec().clearCache();
+        return Specifications.getSpec().authSpec(user);
+    }
+
+    @Benchmark
+    public RequestSpecification authSpecCached() {
+        return Specifications.getSpec().authSpec(user);
+    }
+}
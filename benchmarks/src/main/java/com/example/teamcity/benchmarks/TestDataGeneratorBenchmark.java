@@ -0,0 +1,33 @@
+package com.example.teamcity.benchmarks;
+
+import com.example.teamcity.api.generators.TestData;
+import com.example.teamcity.api.generators.TestDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+
+    @Benchmark
+    public TestData generate() {
+        return TestDataGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TestData generateContended() {
+        return TestDataGenerator.generate();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.teamcity.api.auth;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+import static org.apache.http.HttpStatus.SC_FORBIDDEN;
+import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
+
+/**
+ * Authenticates requests of one principal. Bearer tokens are sent as they are. With Basic credentials only the
+ * first request logs in; later ones reuse the TCSESSIONID cookie TeamCity answered with, plus the cached CSRF
+ * token on modifying requests. An expired session or a rejected CSRF token is dropped and the request is sent
+ * once more with Basic auth. Runs after all other filters, closest to the wire; transports that don't run
+ * RestAssured filters call {@link #authenticate} directly.
+ */
+public class AuthFilter implements OrderedFilter {
+    private static final String SESSION_COOKIE = "TCSESSIONID";
+    private static final String CSRF_HEADER = "X-TC-CSRF-Token";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String COOKIE_HEADER = "Cookie";
+    private static final List<String> AUTH_HEADERS = List.of(AUTHORIZATION_HEADER, COOKIE_HEADER, CSRF_HEADER);
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private final String authorization;
+    private final String principal;
+    private final Supplier<String> csrfTokenFetch;
+
+    private AuthFilter(String authorization, String principal, Supplier<String> csrfTokenFetch) {
+        this.authorization = authorization;
+        this.principal = principal;
+        this.csrfTokenFetch = csrfTokenFetch;
+    }
+
+    public static AuthFilter bearer(String token) {
+        return new AuthFilter("Bearer " + token, null, null);
+    }
+
+    public static AuthFilter basic(String username, String password, boolean reuseSession,
+                                   Supplier<String> csrfTokenFetch) {
+        var authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return new AuthFilter(authorization,
+                reuseSession ? AuthSessions.principal(username, password) : null, csrfTokenFetch);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        var sent = new AtomicBoolean();
+        return join(authenticate(requestSpec.getMethod(), headers -> {
+            AUTH_HEADERS.forEach(requestSpec::removeHeader);
+            headers.forEach(requestSpec::header);
+            return CompletableFuture.completedFuture(sent.getAndSet(true)
+                    ? repeat(requestSpec)
+                    : context.next(requestSpec, responseSpec));
+        }));
+    }
+
+    /**
+     * The transport-neutral part of {@link #filter}: {@code send} sends the request with the given authentication
+     * headers added. Sends once with the session, or with the credentials when there is none, and once more with
+     * the credentials when the session turns out to be stale.
+     */
+    public CompletableFuture<Response> authenticate(String method,
+                                                    Function<Map<String, String>, CompletableFuture<Response>> send) {
+        // resolved per request, the filter lives as long as its cached spec and may outlive an evicted session
+        var session = principal == null ? null : AuthSessions.getSessions().get(principal);
+        var sessionId = session == null ? null : session.getSessionId();
+        if (sessionId == null) {
+            return login(session, send);
+        }
+        var modifying = !SAFE_METHODS.contains(method);
+        var headers = new HashMap<String, String>();
+        headers.put(COOKIE_HEADER, SESSION_COOKIE + "=" + sessionId);
+        if (modifying) {
+            headers.put(CSRF_HEADER, session.csrfToken(csrfTokenFetch));
+        }
+        return send.apply(headers).thenCompose(response -> {
+            var csrfRejected = modifying && response.getStatusCode() == SC_FORBIDDEN
+                    && response.asString().contains("CSRF");
+            if (response.getStatusCode() != SC_UNAUTHORIZED && !csrfRejected) {
+                return CompletableFuture.completedFuture(response);
+            }
+            // the pooled connection is released only once the body is read
+            response.asByteArray();
+            session.invalidate(sessionId);
+            return login(session, send);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * The filter chain of a request can't be run twice, so the repeat is a new request with the same URI, headers
+     * and body that passes no filters; the outer filters see it as part of the original request.
+     */
+    private Response repeat(FilterableRequestSpecification requestSpec) {
+        var repeat = given()
+                .config(requestSpec.getConfig())
+                .urlEncodingEnabled(false)
+                .headers(requestSpec.getHeaders())
+                .cookies(requestSpec.getCookies());
+        // getBody() is generic, an Object target picks body(Object) out of the overloads
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            repeat.body(body);
+        }
+        return repeat.request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    private CompletableFuture<Response> login(AuthSessions.Session session,
+                                              Function<Map<String, String>, CompletableFuture<Response>> send) {
+        return send.apply(Map.of(AUTHORIZATION_HEADER, authorization)).thenApply(response -> {
+            if (session != null && response.getCookie(SESSION_COOKIE) != null) {
+                session.update(response.getCookie(SESSION_COOKIE));
+            }
+            return response;
+        });
+    }
+
+    private static Response join(CompletableFuture<Response> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
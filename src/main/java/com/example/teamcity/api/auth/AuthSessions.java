@@ -0,0 +1,109 @@
+package com.example.teamcity.api.auth;
+
+import com.example.teamcity.api.config.Config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * TeamCity session cookie and CSRF token per principal, shared by all threads that authenticate as it.
+ * A CSRF token belongs to the session it was issued for and is dropped together with it, or after
+ * {@code auth.csrf.ttl.seconds}. Sessions are kept for the most recently used principals (LRU, bounded by
+ * {@code auth.session.cache.size}); an evicted principal logs in again on its next request. Principals are keyed
+ * by username and a hash of the password, passwords are not kept.
+ */
+public class AuthSessions {
+    private static final AuthSessions authSessions = new AuthSessions();
+    private final Map<String, Session> sessions;
+
+    private AuthSessions() {
+        var cacheSize = Config.getIntProperty("auth.session.cache.size", 256);
+        sessions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public static AuthSessions getSessions() {
+        return authSessions;
+    }
+
+    public static String principal(String username, String password) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+            return username + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Looked up on every request rather than held, so that after an eviction all users of the principal move to
+     * the same new session.
+     */
+    public Session get(String principal) {
+        return sessions.computeIfAbsent(principal, key -> new Session());
+    }
+
+    public class Session {
+        private volatile String sessionId;
+        private String csrfToken;
+        private long csrfExpiresAt;
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public synchronized void update(String newSessionId) {
+            if (!Objects.equals(sessionId, newSessionId)) {
+                sessionId = newSessionId;
+                csrfToken = null;
+            }
+        }
+
+        /**
+         * Forgets the session unless another thread already replaced {@code staleSessionId} with a new one.
+         */
+        public synchronized void invalidate(String staleSessionId) {
+            if (Objects.equals(sessionId, staleSessionId)) {
+                sessionId = null;
+                csrfToken = null;
+            }
+        }
+
+        /**
+         * The cached token, or a new one from {@code fetch}. The fetch runs without holding this session's lock:
+         * it may log in again and update the session, possibly on another thread. Its token is cached only if the
+         * session is still the one it started with; otherwise it may belong to the replaced session and is
+         * returned uncached.
+         */
+        public String csrfToken(Supplier<String> fetch) {
+            String fetchedFor;
+            synchronized (this) {
+                if (csrfToken != null && System.nanoTime() - csrfExpiresAt < 0) {
+                    return csrfToken;
+                }
+                fetchedFor = sessionId;
+            }
+            var token = fetch.get();
+            synchronized (this) {
+                if (Objects.equals(sessionId, fetchedFor)) {
+                    csrfToken = token;
+                    csrfExpiresAt = System.nanoTime()
+                            + TimeUnit.SECONDS.toNanos(Config.getIntProperty("auth.csrf.ttl.seconds", 1800));
+                }
+            }
+            return token;
+        }
+    }
+}
@@ -1,40 +1,203 @@
 package com.example.teamcity.api.config;
 
-import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+/**
+ * Settings from layered sources, later ones winning: {@code config.properties} on the classpath, environment
+ * variables ({@code TEAMCITY_} and the key upper-cased with dots and dashes replaced by underscores, e.g.
+ * {@code TEAMCITY_HTTP_POOL_MAX_TOTAL}), system properties, and the properties file named by {@code config.file}
+ * if there is one.
+ * <p>
+ * All sources are read once into an immutable snapshot on first use. {@link #reload()} and, with
+ * {@code config.watch = true}, every change of the external file build a new snapshot and swap it in atomically;
+ * readers never see a half-loaded state. The settings of the request path are read on every use and take effect
+ * with the next request: {@code log.*}, {@code retry.*} except the budget, {@code limit.*}, {@code cache.enabled},
+ * {@code cache.ttl.seconds}, {@code cache.endpoints}, {@code coalesce.enabled}, {@code auth.*} and the fixture pool
+ * sizes; specs (host, token, superuser auth) and endpoint limits are rebuilt through {@link #onReload(Runnable)}.
+ * Thread pools, the HTTP connection pool, the transport, cache sizes and the random seed are fixed at startup.
+ */
 public class Config {
     private final static String CONFIG_PROPERTIES = "config.properties";
-    private static Config config;
-    private Properties properties;
+    private static final String ENV_PREFIX = "TEAMCITY_";
+    private static final Object MISSING = new Object();
+    private static final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
 
-    private Config(){
-        properties = new Properties();
-        loadProperties(CONFIG_PROPERTIES);
+    private Config() {}
+
+    private static class Holder {
+        private static final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.load());
+
+        static {
+            watchIfEnabled(snapshot.get());
+        }
+    }
+
+    private static Snapshot getSnapshot() {
+        return Holder.snapshot.get();
+    }
+
+    public static void reload() {
+        Holder.snapshot.set(Snapshot.load());
+        reloadListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs {@code listener} after every reload, for state built from settings that can't be read on each use.
+     */
+    public static void onReload(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    public static String getProperty(String key) {
+        return getSnapshot().get(key);
+    }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        return getSnapshot().typed("int", key, Integer::parseInt).orElse(defaultValue);
+    }
+
+    public static double getDoubleProperty(String key, double defaultValue) {
+        return getSnapshot().typed("double", key, Double::parseDouble).orElse(defaultValue);
+    }
+
+    public static boolean getBooleanProperty(String key) {
+        return getSnapshot().typed("boolean", key, Boolean::parseBoolean).orElse(false);
     }
 
-    private static Config getConfig() {
-        if (config == null) {
-            config = new Config();
+    private static void watchIfEnabled(Snapshot snapshot) {
+        if (snapshot.externalFile == null || !Boolean.parseBoolean(snapshot.get("config.watch"))) {
+            return;
         }
-        return config;
+        var file = snapshot.externalFile.toAbsolutePath();
+        var watcher = new Thread(() -> {
+            try (var watchService = file.getFileSystem().newWatchService()) {
+                file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                while (true) {
+                    var key = watchService.take();
+                    var changed = key.pollEvents().stream()
+                            .anyMatch(event -> file.getFileName().equals(event.context()));
+                    key.reset();
+                    if (changed) {
+                        try {
+                            reload();
+                        } catch (RuntimeException e) {
+                            System.err.println("Error during reloading " + file + ", keeping the previous config: "
+                                    + e.getMessage());
+                        }
+                    }
+                }
+            } catch (IOException | ClosedWatchServiceException e) {
+                System.err.println("Stopped watching " + file + ": " + e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
     }
 
-    public void loadProperties(String fileName) {
-        try(InputStream stream = Config.class.getClassLoader().getResourceAsStream(fileName)) {
-            if (stream == null) {
-                System.err.println("File not found " + fileName);
+    private static class Snapshot {
+        private final Map<String, String> externalProperties;
+        private final Map<String, String> systemProperties;
+        private final Map<String, String> environment;
+        private final Map<String, String> classpathProperties;
+        private final Path externalFile;
+        private final Map<String, Object> typedValues = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, String> externalProperties, Map<String, String> systemProperties,
+                         Map<String, String> environment, Map<String, String> classpathProperties, Path externalFile) {
+            this.externalProperties = externalProperties;
+            this.systemProperties = systemProperties;
+            this.environment = environment;
+            this.classpathProperties = classpathProperties;
+            this.externalFile = externalFile;
+        }
+
+        private static Snapshot load() {
+            var classpathProperties = loadClasspath();
+            var systemProperties = toMap(System.getProperties());
+            var environment = Map.copyOf(System.getenv());
+            var base = new Snapshot(Map.of(), systemProperties, environment, classpathProperties, null);
+            var fileName = base.get("config.file");
+            if (fileName == null || fileName.isBlank()) {
+                if (classpathProperties.isEmpty()) {
+                    throw new IllegalStateException("No configuration: " + CONFIG_PROPERTIES
+                            + " is not on the classpath and config.file is not set");
+                }
+                return base;
+            }
+            var externalFile = Path.of(fileName.trim());
+            return new Snapshot(loadFile(externalFile), systemProperties, environment, classpathProperties,
+                    externalFile);
+        }
+
+        private String get(String key) {
+            var value = externalProperties.get(key);
+            if (value == null) {
+                value = systemProperties.get(key);
             }
+            if (value == null) {
+                value = environment.get(ENV_PREFIX + key.toUpperCase().replace('.', '_').replace('-', '_'));
+            }
+            return value != null ? value : classpathProperties.get(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Optional<T> typed(String type, String key, Function<String, T> parser) {
+            var value = typedValues.computeIfAbsent(type + ":" + key, cacheKey -> {
+                var text = get(key);
+                return text == null || text.isBlank() ? MISSING : parser.apply(text.trim());
+            });
+            return value == MISSING ? Optional.empty() : Optional.of((T) value);
+        }
+
+        private static Map<String, String> loadClasspath() {
+            try (InputStream stream = Config.class.getClassLoader().getResourceAsStream(CONFIG_PROPERTIES)) {
+                if (stream == null) {
+                    System.err.println("File not found " + CONFIG_PROPERTIES);
+                    return Map.of();
+                }
+                return load(stream);
+            } catch (IOException e) {
+                System.err.println("Error during file reading " + CONFIG_PROPERTIES);
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static Map<String, String> loadFile(Path file) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                return load(stream);
+            } catch (IOException e) {
+                System.err.println("Error during file reading " + file);
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static Map<String, String> load(InputStream stream) throws IOException {
+            var properties = new Properties();
             properties.load(stream);
-        } catch (IOException e) {
-            System.err.println("Error during file reading " + fileName);
-            throw new RuntimeException(e);
+            return toMap(properties);
         }
-    }
 
-    public static String getProperty(String key) {
-        return getConfig().properties.getProperty(key);
+        private static Map<String, String> toMap(Properties properties) {
+            var map = new HashMap<String, String>();
+            properties.stringPropertyNames().forEach(name -> map.put(name, properties.getProperty(name)));
+            return Map.copyOf(map);
+        }
     }
 }
@@ -0,0 +1,8 @@
+package com.example.teamcity.api.enums;
+
+public enum LogMode {
+    OFF,
+    ERRORS,
+    SAMPLED,
+    FULL
+}
@@ -0,0 +1,16 @@
+package com.example.teamcity.api.enums;
+
+public enum Scope {
+    GLOBAL("g"),
+    PROJECT("p:");
+
+    private String text;
+
+    Scope(String text){
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
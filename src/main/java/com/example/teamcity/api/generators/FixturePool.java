@@ -0,0 +1,154 @@
+package com.example.teamcity.api.generators;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.enums.Scope;
+import com.example.teamcity.api.requests.CheckedRequests;
+import com.example.teamcity.api.spec.Specifications;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Creates fixtures in the background ahead of demand and leases them to tests. The first lease of a kind is
+ * created inline; only kinds that are leased again get a pool, refilled as soon as it drops below
+ * {@code fixture.pool.low.watermark} up to as many fixtures as were leased so far, at most
+ * {@code fixture.pool.max.size}, so a kind leased once costs one fixture. {@link #prewarm()} creates one fixture
+ * of each kind in {@code fixture.pool.prewarm} ({@code ROLE:SCOPE}, comma-separated) ahead of its first lease, so
+ * tests leasing a kind once don't create it inline either. Leased fixtures are registered in {@link TestDataStorage} and destroyed
+ * with the rest of the test data; fixtures that were never leased, including ones still being created, are
+ * deleted on JVM shutdown.
+ */
+public class FixturePool {
+    private static final FixturePool fixturePool = new FixturePool();
+    private final Map<String, Queue<TestData>> ready = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> leases = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Config.getIntProperty("fixture.pool.threads", 4), runnable -> {
+                var thread = new Thread(runnable, "fixture-pool");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private FixturePool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // queued refills are skipped, running ones finish and land in the pool to be deleted with it
+            stopping = true;
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(Config.getIntProperty("fixture.pool.shutdown.timeout.seconds", 60),
+                        TimeUnit.SECONDS)) {
+                    System.err.println("Fixture creations still running at shutdown are not deleted");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var unused = new ArrayList<TestData>();
+            ready.values().forEach(unused::addAll);
+            TestDataCleaner.delete(unused);
+        }, "fixture-pool-cleanup"));
+    }
+
+    public static FixturePool getPool() {
+        return fixturePool;
+    }
+
+    /**
+     * Project created by the super user and a user with the role granted globally or on that project.
+     */
+    public TestData lease(Role role, Scope scope) {
+        return lease("user:" + role + ":" + scope, () -> createUserWithProject(role, scope));
+    }
+
+    /**
+     * Starts creating the kinds listed in {@code fixture.pool.prewarm}, one fixture each; returns immediately.
+     */
+    public void prewarm() {
+        Arrays.stream(Optional.ofNullable(Config.getProperty("fixture.pool.prewarm")).orElse("").split(","))
+                .map(String::trim)
+                .filter(kind -> !kind.isEmpty())
+                .forEach(kind -> {
+                    var roleAndScope = kind.split(":");
+                    if (roleAndScope.length != 2) {
+                        throw new IllegalArgumentException("Invalid fixture.pool.prewarm entry " + kind
+                                + ", expected ROLE:SCOPE");
+                    }
+                    prewarm(Role.valueOf(roleAndScope[0].trim()), Scope.valueOf(roleAndScope[1].trim()));
+                });
+    }
+
+    public void prewarm(Role role, Scope scope) {
+        refill("user:" + role + ":" + scope, () -> createUserWithProject(role, scope), 1);
+    }
+
+    private TestData lease(String key, Supplier<TestData> factory) {
+        var testData = ready.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).poll();
+        var leased = leases.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        if (leased > 1) {
+            refill(key, factory, Math.min(leased, Config.getIntProperty("fixture.pool.max.size", 10)));
+        }
+        if (testData == null) {
+            testData = factory.get();
+        }
+        return TestDataStorage.getStorage().addTestData(testData);
+    }
+
+    private void refill(String key, Supplier<TestData> factory, int size) {
+        var queue = ready.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        var inFlight = pending.computeIfAbsent(key, k -> new AtomicInteger());
+        if (queue.size() + inFlight.get() >= Math.min(lowWatermark(), size)) {
+            return;
+        }
+        while (true) {
+            var current = inFlight.get();
+            if (queue.size() + current >= size) {
+                return;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                executor.execute(() -> {
+                    try {
+                        if (!stopping) {
+                            queue.add(factory.get());
+                        }
+                    } catch (RuntimeException | AssertionError e) {
+                        System.err.println("Failed to create fixture " + key + ": " + e);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private static int lowWatermark() {
+        return Config.getIntProperty("fixture.pool.low.watermark", 3);
+    }
+
+    private TestData createUserWithProject(Role role, Scope scope) {
+        var testData = TestDataGenerator.generate();
+        var checkedWithSuperUser = new CheckedRequests(Specifications.getSpec().superUserSpec());
+        try {
+            checkedWithSuperUser.getProjectRequest().create(testData.getProject());
+            var roleScope = scope == Scope.PROJECT ? scope.getText() + testData.getProject().getId() : scope.getText();
+            testData.getUser().setRoles(TestDataGenerator.generateRoles(role, roleScope));
+            checkedWithSuperUser.getUserRequest().create(testData.getUser());
+        } catch (RuntimeException | AssertionError e) {
+            TestDataCleaner.delete(List.of(testData));
+            throw e;
+        }
+        return testData;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.teamcity.api.generators;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.models.BuildTypes;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.models.Projects;
+import com.example.teamcity.api.models.Users;
+import com.example.teamcity.api.requests.RequestExecutors;
+import com.example.teamcity.api.requests.UncheckedRequests;
+import com.example.teamcity.api.requests.cache.ResponseCache;
+import com.example.teamcity.api.requests.limit.RateLimiter;
+import com.example.teamcity.api.spec.Specifications;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.apache.http.HttpStatus.SC_MULTIPLE_CHOICES;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Deletes test entities left behind by earlier runs, e.g. ones killed before their cleanup: projects, build types
+ * and users named with the {@link RandomData} prefix whose run started at least the given age ago, so entities of
+ * runs still in progress are kept. Prefixed names without the run stamp count as old when
+ * {@code sweep.include.undated} is set.
+ * <p>
+ * Listings are paged by {@code sweep.page.size} and narrowed on the server with locator and fields; only the
+ * top-most matches are deleted, TeamCity removes subprojects and build types together with their project. Deletes
+ * run in parallel batches of {@code sweep.batch.size}, at most {@code sweep.rate} per second (0 for no limit).
+ * Runs before the suite with {@code sweep.before.suite = true}, or on its own through {@link #main} with
+ * {@code --min-age=} (minutes, default {@code sweep.min.age.minutes}) and {@code --dry-run=}.
+ */
+public class OrphanSweeper {
+    private static final String PROJECT_FIELDS = "count,nextHref,project(id,name,parentProjectId)";
+    private static final String BUILD_TYPE_FIELDS = "count,nextHref,buildType(id,name,project(id))";
+    private static final String USER_FIELDS = "count,nextHref,user(username)";
+
+    private final UncheckedRequests uncheckedRequests;
+    private final Executor executor;
+    private final Duration minAge;
+    private final String prefix = RandomData.getPrefix();
+    private final boolean includeUndated = Config.getBooleanProperty("sweep.include.undated");
+    private final int pageSize = Config.getIntProperty("sweep.page.size", 100);
+    private final int batchSize = Config.getIntProperty("sweep.batch.size", 20);
+    private final RateLimiter rateLimiter;
+
+    public OrphanSweeper(Duration minAge) {
+        this(Specifications.getSpec().superUserSpec(), RequestExecutors.getExecutor(), minAge);
+    }
+
+    public OrphanSweeper(RequestSpecification spec, Executor executor, Duration minAge) {
+        this.uncheckedRequests = new UncheckedRequests(spec);
+        this.executor = executor;
+        this.minAge = minAge;
+        var rate = Config.getDoubleProperty("sweep.rate", 0);
+        this.rateLimiter = rate > 0 ? new RateLimiter(rate, batchSize) : null;
+    }
+
+    public static void main(String[] args) {
+        var settings = new LinkedHashMap<String, String>();
+        settings.put("min-age", Config.getProperty("sweep.min.age.minutes"));
+        settings.put("dry-run", "false");
+        for (var arg : args) {
+            var pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !settings.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected one of --"
+                        + String.join("=, --", settings.keySet()) + "=");
+            }
+            settings.put(pair[0], pair[1]);
+        }
+
+        var result = new OrphanSweeper(Duration.ofMinutes(Long.parseLong(settings.get("min-age").trim())))
+                .sweep(Boolean.parseBoolean(settings.get("dry-run").trim()));
+        if (!result.getFailures().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Sweeps orphans older than the configured age; with {@code dryRun} they are only listed.
+     */
+    public Result sweep(boolean dryRun) {
+        var cutoff = Instant.now().minus(minAge);
+        var projectRequest = uncheckedRequests.getProjectRequest();
+        var buildConfigRequest = uncheckedRequests.getBuildConfigRequest();
+        var userRequest = uncheckedRequests.getUserRequest();
+
+        var projects = listAll("project", projectRequest::list, nameStartsWith(), PROJECT_FIELDS,
+                Projects.class, Projects::getProject, Projects::getNextHref).stream()
+                .filter(project -> isOrphan(cutoff, project.getId(), project.getName()))
+                .toList();
+        var projectIds = projects.stream().map(Project::getId).collect(Collectors.toSet());
+        var buildTypes = listAll("build type", buildConfigRequest::list, nameStartsWith(), BUILD_TYPE_FIELDS,
+                BuildTypes.class, BuildTypes::getBuildType, BuildTypes::getNextHref).stream()
+                .filter(buildType -> isOrphan(cutoff, buildType.getId(), buildType.getName()))
+                .toList();
+        // not every server version takes a value condition on usernames, users are matched here only
+        var users = listAll("user", userRequest::list, null, USER_FIELDS,
+                Users.class, Users::getUser, Users::getNextHref).stream()
+                .filter(user -> isOrphan(cutoff, user.getUsername()))
+                .toList();
+
+        var deletions = new ArrayList<Deletion>();
+        buildTypes.stream()
+                .filter(buildType -> buildType.getProject() == null
+                        || !projectIds.contains(buildType.getProject().getId()))
+                .forEach(buildType -> deletions.add(
+                        new Deletion("build type", buildType.getId(), buildConfigRequest::delete)));
+        projects.stream()
+                .filter(project -> !projectIds.contains(project.getParentProjectId()))
+                .forEach(project -> deletions.add(new Deletion("project", project.getId(), projectRequest::delete)));
+        users.forEach(user -> deletions.add(new Deletion("user", user.getUsername(), userRequest::delete)));
+
+        var failures = new ConcurrentLinkedQueue<String>();
+        if (dryRun) {
+            deletions.forEach(deletion -> System.out.println("Would delete " + deletion.entity() + " "
+                    + deletion.id()));
+        } else {
+            for (int from = 0; from < deletions.size(); from += batchSize) {
+                deleteAll(deletions.subList(from, Math.min(from + batchSize, deletions.size())), failures);
+            }
+        }
+        failures.forEach(System.err::println);
+        System.out.println((dryRun ? "Found " : "Swept ") + projects.size() + " projects, " + buildTypes.size()
+                + " build types and " + users.size() + " users older than " + minAge.toMinutes() + " minutes with "
+                + deletions.size() + " deletes, " + failures.size() + " failed");
+        return new Result(projects.size(), buildTypes.size(), users.size(),
+                deletions.stream().map(Deletion::id).toList(), List.copyOf(failures));
+    }
+
+    private String nameStartsWith() {
+        return "name:(value:" + prefix + ",matchType:starts-with)";
+    }
+
+    private <P, T> List<T> listAll(String entity, BiFunction<String, String, Response> list, String filter,
+                                   String fields, Class<P> pageClass, Function<P, List<T>> items,
+                                   Function<P, String> nextHref) {
+        var all = new ArrayList<T>();
+        for (int start = 0; ; start += pageSize) {
+            var locator = (filter == null ? "" : filter + ",") + "start:" + start + ",count:" + pageSize;
+            // a cached page could list entities that are gone already
+            var response = ResponseCache.bypass(() -> list.apply(locator, fields));
+            if (response.getStatusCode() != SC_OK) {
+                throw new IllegalStateException("Failed to list " + entity + "s: status " + response.getStatusCode()
+                        + " " + response.asString());
+            }
+            var page = response.as(pageClass, JsonMapper.getMapper());
+            var pageItems = Optional.ofNullable(items.apply(page)).orElse(List.of());
+            all.addAll(pageItems);
+            if (nextHref.apply(page) == null || pageItems.isEmpty()) {
+                return all;
+            }
+        }
+    }
+
+    private boolean isOrphan(Instant cutoff, String... names) {
+        var prefixed = Arrays.stream(names)
+                .filter(name -> name != null && name.startsWith(prefix))
+                .toList();
+        if (prefixed.isEmpty()) {
+            return false;
+        }
+        // the youngest stamp decides, an entity named by a running test is never swept
+        return prefixed.stream()
+                .map(RandomData::getRunStart)
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder())
+                .map(runStart -> runStart.isBefore(cutoff))
+                .orElse(includeUndated);
+    }
+
+    private void deleteAll(List<Deletion> batch, Queue<String> failures) {
+        CompletableFuture.allOf(batch.stream()
+                .map(deletion -> CompletableFuture.runAsync(() -> {
+                    if (rateLimiter != null) {
+                        rateLimiter.acquire();
+                    }
+                    try {
+                        var statusCode = deletion.request().apply(deletion.id()).getStatusCode();
+                        if (statusCode >= SC_MULTIPLE_CHOICES && statusCode != SC_NOT_FOUND) {
+                            failures.add("Failed to delete " + deletion.entity() + " " + deletion.id() + ": status "
+                                    + statusCode);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.add("Failed to delete " + deletion.entity() + " " + deletion.id() + ": " + e);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private record Deletion(String entity, String id, Function<String, Response> request) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private int projects;
+        private int buildTypes;
+        private int users;
+        // ids and usernames of the entities (to be) deleted, top-most matches only
+        private List<String> deleted;
+        private List<String> failures;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.teamcity.api.generators;
+
+import com.example.teamcity.api.models.NewProjectDescription;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Groups projects into levels along the parentProject chain. Level 0 holds projects whose parent is not in
+ * the given set; projects of one level do not depend on each other.
+ */
+public class ProjectHierarchy {
+
+    private ProjectHierarchy() {}
+
+    public static List<List<NewProjectDescription>> rootFirst(Collection<NewProjectDescription> projects) {
+        var projectsById = new LinkedHashMap<String, NewProjectDescription>();
+        projects.forEach(project -> projectsById.putIfAbsent(project.getId(), project));
+        var depths = new HashMap<String, Integer>();
+        projectsById.keySet().forEach(id -> depth(id, projectsById, depths, new HashSet<>()));
+        var levels = new TreeMap<Integer, List<NewProjectDescription>>();
+        projectsById.forEach((id, project) ->
+                levels.computeIfAbsent(depths.get(id), key -> new ArrayList<>()).add(project));
+        return new ArrayList<>(levels.values());
+    }
+
+    public static List<List<NewProjectDescription>> leafFirst(Collection<NewProjectDescription> projects) {
+        var levels = rootFirst(projects);
+        Collections.reverse(levels);
+        return levels;
+    }
+
+    public static String parentId(NewProjectDescription project) {
+        var parent = project.getParentProject();
+        if (parent == null) {
+            return null;
+        }
+        if (parent.getId() != null) {
+            return parent.getId();
+        }
+        var locator = parent.getLocator();
+        return locator != null && locator.startsWith("id:") ? locator.substring("id:".length()) : locator;
+    }
+
+    private static int depth(String id, Map<String, NewProjectDescription> projects,
+                             Map<String, Integer> depths, Set<String> visiting) {
+        if (depths.containsKey(id)) {
+            return depths.get(id);
+        }
+        var parentId = parentId(projects.get(id));
+        var depth = parentId != null && projects.containsKey(parentId) && visiting.add(id)
+                ? depth(parentId, projects, depths, visiting) + 1
+                : 0;
+        depths.put(id, depth);
+        return depth;
+    }
+}
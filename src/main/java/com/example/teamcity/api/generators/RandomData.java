@@ -1,10 +1,114 @@
 package com.example.teamcity.api.generators;
 
-import org.apache.commons.lang3.RandomStringUtils;
+import com.example.teamcity.api.config.Config;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Unique test strings of the form {@code test_<run stamp><worker>_<thread>_<counter><random letters>}.
+ * <p>
+ * Uniqueness comes from the prefix: the run start second, the worker id ({@code random.worker.id}, random per JVM
+ * when not set; set it to distinct values to rule out collisions between JVMs started in the same second), a slot
+ * per thread and a per-thread counter, so no two calls ever return the same string and threads never contend.
+ * The letters come from a per-thread {@link SplittableRandom} split off the run seed ({@code random.seed}, random
+ * and printed when not set); {@link #seed(String)} reseeds the current thread, e.g. per test, so a failing test
+ * gets the same letters again when rerun with the printed seed.
+ */
 public class RandomData {
     private static final int LENGTH = 10;
+    private static final String PREFIX = "test_";
+    private static final int STAMP_LENGTH = 7;
+    private static final int WORKER_LENGTH = 4;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final Pattern STAMPED = Pattern.compile(PREFIX + "([0-9a-z]{" + STAMP_LENGTH + "})[0-9a-z]{"
+            + WORKER_LENGTH + "}_[0-9a-z]+_[0-9]");
+    private static final long RUN_SEED = runSeed();
+    private static final String RUN_PREFIX = PREFIX
+            + pad(Long.toString(Instant.now().getEpochSecond(), Character.MAX_RADIX), STAMP_LENGTH)
+            + pad(Integer.toString(workerId(), Character.MAX_RADIX), WORKER_LENGTH) + "_";
+    private static final SplittableRandom root = new SplittableRandom(RUN_SEED);
+    private static final AtomicInteger slots = new AtomicInteger();
+    private static final ThreadLocal<Generator> generator = ThreadLocal.withInitial(Generator::new);
+
+    private RandomData() {}
+
     public static String getString() {
-        return "test_" + RandomStringUtils.randomAlphabetic(LENGTH);
+        return generator.get().next();
+    }
+
+    public static long getSeed() {
+        return RUN_SEED;
+    }
+
+    public static String getPrefix() {
+        return PREFIX;
+    }
+
+    /**
+     * The start second of the run that generated {@code value}, empty for strings without the run stamp, e.g. ones
+     * generated before it was added.
+     */
+    public static Optional<Instant> getRunStart(String value) {
+        var matcher = value == null ? null : STAMPED.matcher(value);
+        return matcher != null && matcher.lookingAt()
+                ? Optional.of(Instant.ofEpochSecond(Long.parseLong(matcher.group(1), Character.MAX_RADIX)))
+                : Optional.empty();
+    }
+
+    /**
+     * Restarts the letters of the current thread from a seed derived from the run seed and {@code scope}.
+     */
+    public static long seed(String scope) {
+        var seed = RUN_SEED * 31 + scope.hashCode();
+        generator.get().random = new SplittableRandom(seed);
+        return seed;
+    }
+
+    private static long runSeed() {
+        var configured = Config.getProperty("random.seed");
+        var seed = configured == null || configured.isBlank()
+                ? new SplittableRandom().nextLong()
+                : Long.parseLong(configured.trim());
+        System.out.println("Random data seed " + seed + " (rerun with -Drandom.seed=" + seed + ")");
+        return seed;
+    }
+
+    private static int workerId() {
+        var workers = (int) Math.pow(Character.MAX_RADIX, WORKER_LENGTH);
+        var configured = Config.getProperty("random.worker.id");
+        // independent of the seed, two JVMs rerun with the same seed must still get different workers
+        return configured == null || configured.isBlank()
+                ? new SplittableRandom().nextInt(workers)
+                : Math.floorMod(Integer.parseInt(configured.trim()), workers);
+    }
+
+    private static String pad(String value, int length) {
+        return "0".repeat(Math.max(0, length - value.length())) + value;
+    }
+
+    private static SplittableRandom split() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+
+    private static class Generator {
+        private final String prefix = RUN_PREFIX + Integer.toString(slots.getAndIncrement(), Character.MAX_RADIX)
+                + "_";
+        private SplittableRandom random = split();
+        private long counter;
+
+        private String next() {
+            var value = new StringBuilder(prefix.length() + 20 + LENGTH).append(prefix).append(counter++);
+            // the counter is decimal, so the letters that follow can't shift it into another counter value
+            for (int i = 0; i < LENGTH; i++) {
+                value.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            return value.toString();
+        }
     }
 }
@@ -0,0 +1,168 @@
+package com.example.teamcity.api.generators;
+
+import com.example.teamcity.api.enums.Scope;
+import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.models.Role;
+import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.requests.CheckedRequests;
+import com.example.teamcity.api.requests.RequestExecutors;
+import com.example.teamcity.api.spec.Specifications;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Creates the entities of a set of TestData along their dependencies: a project after its parent project, a
+ * build type after its project, a user after the projects its roles are scoped to ({@code p:<projectId>}).
+ * Dependencies outside the set are expected to exist already. Every entity is created as soon as its own
+ * dependencies are, so independent branches run concurrently and the wall-clock time is the longest dependency
+ * chain. On the first failure no further entities are started; once the running ones are done, everything
+ * created so far is deleted with {@link TestDataCleaner} and the failure is rethrown.
+ */
+public class SetupPlanner {
+    private final CheckedRequests checkedRequests;
+    private final Executor executor;
+
+    public SetupPlanner() {
+        this(Specifications.getSpec().superUserSpec(), RequestExecutors.getExecutor());
+    }
+
+    public SetupPlanner(RequestSpecification spec, Executor executor) {
+        this.checkedRequests = new CheckedRequests(spec);
+        this.executor = executor;
+    }
+
+    public void create(Collection<TestData> testDataList) {
+        new Plan().run(testDataList);
+    }
+
+    private class Plan {
+        private final Map<String, NewProjectDescription> projects = new LinkedHashMap<>();
+        private final Map<String, CompletableFuture<Void>> projectNodes = new HashMap<>();
+        private final List<CompletableFuture<Void>> nodes = new ArrayList<>();
+        // nothing is sent before the whole graph is built, a cycle must not leave half of it created
+        private final CompletableFuture<Void> start = new CompletableFuture<>();
+        private final Queue<TestData> created = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private void run(Collection<TestData> testDataList) {
+            testDataList.stream()
+                    .map(TestData::getProject)
+                    .filter(Objects::nonNull)
+                    .forEach(project -> projects.putIfAbsent(project.getId(), project));
+            projects.keySet().forEach(id -> projectNode(id, new HashSet<>()));
+
+            var buildTypes = new LinkedHashMap<String, BuildType>();
+            testDataList.stream()
+                    .map(TestData::getBuildType)
+                    .filter(Objects::nonNull)
+                    .forEach(buildType -> buildTypes.putIfAbsent(buildType.getId(), buildType));
+            buildTypes.values().forEach(buildType -> node(
+                    buildType.getProject() == null ? List.of() : dependencies(List.of(buildType.getProject().getId())),
+                    () -> {
+                        checkedRequests.getBuildConfigRequest().create(buildType);
+                        created.add(TestData.builder().buildType(buildType).build());
+                    }));
+
+            var users = new LinkedHashMap<String, User>();
+            testDataList.stream()
+                    .map(TestData::getUser)
+                    .filter(Objects::nonNull)
+                    .forEach(user -> users.putIfAbsent(user.getUsername(), user));
+            users.values().forEach(user -> node(dependencies(scopedProjectIds(user)), () -> {
+                checkedRequests.getUserRequest().create(user);
+                created.add(TestData.builder().user(user).build());
+            }));
+
+            start.complete(null);
+            try {
+                CompletableFuture.allOf(nodes.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException | CancellationException e) {
+                var cause = failure.get() != null ? failure.get() : e;
+                System.err.println("Test data setup failed, rolling back " + created.size() + " created entities: "
+                        + cause);
+                TestDataCleaner.delete(List.copyOf(created));
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+
+        private CompletableFuture<Void> projectNode(String id, Set<String> visiting) {
+            var node = projectNodes.get(id);
+            if (node != null) {
+                return node;
+            }
+            if (!visiting.add(id)) {
+                throw new IllegalArgumentException("Cyclic parentProject chain at project " + id);
+            }
+            var project = projects.get(id);
+            var parentId = ProjectHierarchy.parentId(project);
+            var parent = parentId != null && projects.containsKey(parentId)
+                    ? List.of(projectNode(parentId, visiting))
+                    : List.<CompletableFuture<Void>>of();
+            node = node(parent, () -> {
+                checkedRequests.getProjectRequest().create(project);
+                created.add(TestData.builder().project(project).build());
+            });
+            projectNodes.put(id, node);
+            return node;
+        }
+
+        private List<CompletableFuture<Void>> dependencies(Collection<String> projectIds) {
+            return projectIds.stream()
+                    .map(projectNodes::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
+        private CompletableFuture<Void> node(List<CompletableFuture<Void>> dependencies, Runnable create) {
+            var node = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                    .thenCombine(start, (dependenciesDone, started) -> started)
+                    .thenRunAsync(() -> {
+                        if (failure.get() != null) {
+                            throw new CancellationException("Skipped after an earlier setup failure");
+                        }
+                        try {
+                            create.run();
+                        } catch (RuntimeException | Error e) {
+                            failure.compareAndSet(null, e);
+                            throw e;
+                        }
+                    }, executor);
+            nodes.add(node);
+            return node;
+        }
+    }
+
+    private static List<String> scopedProjectIds(User user) {
+        if (user.getRoles() == null || user.getRoles().getRole() == null) {
+            return List.of();
+        }
+        return user.getRoles().getRole().stream()
+                .map(Role::getScope)
+                .filter(scope -> scope != null && scope.startsWith(Scope.PROJECT.getText()))
+                .map(scope -> scope.substring(Scope.PROJECT.getText().length()))
+                .toList();
+    }
+}
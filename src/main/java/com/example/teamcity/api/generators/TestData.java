@@ -3,13 +3,11 @@ package com.example.teamcity.api.generators;
 import com.example.teamcity.api.models.BuildType;
 import com.example.teamcity.api.models.NewProjectDescription;
 import com.example.teamcity.api.models.User;
-import com.example.teamcity.api.requests.unchecked.UncheckedBuildConfig;
-import com.example.teamcity.api.requests.unchecked.UncheckedProject;
-import com.example.teamcity.api.requests.unchecked.UncheckedUser;
-import com.example.teamcity.api.spec.Specifications;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 @Builder
 public class TestData {
@@ -19,10 +17,6 @@ public class TestData {
     private BuildType buildType;
 
     public void delete() {
-        var spec = Specifications.getSpec().superUserSpec();
-
-        new UncheckedProject(spec).delete(project.getId());
-        new UncheckedUser(spec).delete(user.getUsername());
-        new UncheckedBuildConfig(spec).delete(buildType.getId());
+        TestDataCleaner.delete(List.of(this));
     }
 }
@@ -0,0 +1,95 @@
+package com.example.teamcity.api.generators;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.requests.unchecked.UncheckedBuildConfig;
+import com.example.teamcity.api.requests.unchecked.UncheckedProject;
+import com.example.teamcity.api.requests.unchecked.UncheckedUser;
+import com.example.teamcity.api.spec.Specifications;
+import io.restassured.response.Response;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.apache.http.HttpStatus.SC_MULTIPLE_CHOICES;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+
+/**
+ * Deletes test entities on a bounded pool in dependency order: build types, then projects leaf-first,
+ * then users. Build types of projects that are deleted in the same run are skipped, TeamCity removes
+ * them together with the project.
+ */
+public class TestDataCleaner {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Config.getIntProperty("cleanup.threads", 8), runnable -> {
+                var thread = new Thread(runnable, "test-data-cleaner");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private TestDataCleaner() {}
+
+    public static List<String> delete(Collection<TestData> testDataList) {
+        if (testDataList.isEmpty()) {
+            return List.of();
+        }
+        var projects = new LinkedHashMap<String, NewProjectDescription>();
+        var buildTypeIds = new LinkedHashSet<String>();
+        var usernames = new LinkedHashSet<String>();
+
+        testDataList.stream()
+                .map(TestData::getProject)
+                .filter(project -> project != null && isNotBlank(project.getId()))
+                .forEach(project -> projects.putIfAbsent(project.getId(), project));
+        testDataList.stream()
+                .map(TestData::getBuildType)
+                .filter(buildType -> buildType != null && isNotBlank(buildType.getId()))
+                .filter(buildType -> buildType.getProject() == null
+                        || !projects.containsKey(buildType.getProject().getId()))
+                .forEach(buildType -> buildTypeIds.add(buildType.getId()));
+        testDataList.stream()
+                .map(TestData::getUser)
+                .filter(user -> user != null && isNotBlank(user.getUsername()))
+                .forEach(user -> usernames.add(user.getUsername()));
+
+        var spec = Specifications.getSpec().superUserSpec();
+        var failures = new ConcurrentLinkedQueue<String>();
+        deleteAll("build type", buildTypeIds, new UncheckedBuildConfig(spec)::delete, failures);
+        var projectRequest = new UncheckedProject(spec);
+        ProjectHierarchy.leafFirst(projects.values()).forEach(level -> deleteAll("project",
+                level.stream().map(NewProjectDescription::getId).toList(), projectRequest::delete, failures));
+        deleteAll("user", usernames, new UncheckedUser(spec)::delete, failures);
+
+        failures.forEach(System.err::println);
+        return List.copyOf(failures);
+    }
+
+    private static void deleteAll(String entity, Collection<String> ids,
+                                  Function<String, Response> delete, Queue<String> failures) {
+        CompletableFuture.allOf(ids.stream()
+                .map(id -> CompletableFuture.runAsync(() -> {
+                    try {
+                        var statusCode = delete.apply(id).getStatusCode();
+                        if (statusCode >= SC_MULTIPLE_CHOICES && statusCode != SC_NOT_FOUND) {
+                            failures.add("Failed to delete " + entity + " " + id + ": status " + statusCode);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.add("Failed to delete " + entity + " " + id + ": " + e);
+                    }
+                }, EXECUTOR))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private static boolean isNotBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+}
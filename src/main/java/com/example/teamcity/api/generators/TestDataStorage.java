@@ -2,23 +2,33 @@ package com.example.teamcity.api.generators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Registry of created test data, scoped per test context. A context is bound to the current thread with
+ * {@link #openContext(Object)} (e.g. the TestNG {@code ITestResult}); without it the thread itself is the key.
+ * {@link #delete()} drains the current context, so every entity is cleaned up exactly once.
+ */
 public class TestDataStorage {
-    private static TestDataStorage testDataStorage;
-    private List<TestData> testDataList;
-    private TestDataStorage() {
-        this.testDataList = new ArrayList<>();
-    }
+    private static final TestDataStorage testDataStorage = new TestDataStorage();
+    private final Map<Object, Queue<TestData>> testDataByContext = new ConcurrentHashMap<>();
+    private final ThreadLocal<Object> context = ThreadLocal.withInitial(Thread::currentThread);
+
+    private TestDataStorage() {}
 
     public static TestDataStorage getStorage() {
-        if (testDataStorage == null) {
-            testDataStorage = new TestDataStorage();
-        }
         return testDataStorage;
     }
 
+    public void openContext(Object key) {
+        context.set(key);
+    }
+
     public TestData addTestData(TestData testData) {
-        getStorage().testDataList.add(testData);
+        testDataByContext.computeIfAbsent(context.get(), key -> new ConcurrentLinkedQueue<>()).add(testData);
         return testData;
     }
 
@@ -28,7 +38,14 @@ public class TestDataStorage {
         return testData;
     }
 
+    public List<TestData> drain() {
+        var key = context.get();
+        context.remove();
+        var testDataList = testDataByContext.remove(key);
+        return testDataList == null ? List.of() : new ArrayList<>(testDataList);
+    }
+
     public void delete() {
-        testDataList.forEach(TestData::delete);
+        TestDataCleaner.delete(drain());
     }
 }
@@ -0,0 +1,161 @@
+package com.example.teamcity.api.json;
+
+import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.models.BuildTypes;
+import com.example.teamcity.api.models.Link;
+import com.example.teamcity.api.models.Links;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.models.Projects;
+import com.example.teamcity.api.models.Properties;
+import com.example.teamcity.api.models.Property;
+import com.example.teamcity.api.models.Role;
+import com.example.teamcity.api.models.Roles;
+import com.example.teamcity.api.models.Step;
+import com.example.teamcity.api.models.Steps;
+import com.example.teamcity.api.models.Type;
+import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.models.Users;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The one JSON mapper of the framework: a shared, thread-safe Gson instance with a {@link ModelTypeAdapter}
+ * registered for every class in the models package. {@link com.example.teamcity.api.spec.Specifications} hands it to RestAssured directly,
+ * instead of RestAssured detecting a mapper on the classpath and creating a new Gson for every body.
+ * <p>
+ * Model fields are listed by hand; a field missing here is neither written nor read, which
+ * {@code JsonMapperTest} guards against.
+ */
+public class JsonMapper implements ObjectMapper {
+    private static final Map<Class<?>, ModelTypeAdapter.Builder<?>> MODELS = Map.ofEntries(
+            Map.entry(BuildType.class, ModelTypeAdapter.builder(BuildType::new)
+                    .field("id", String.class, BuildType::getId, BuildType::setId)
+                    .field("internalId", String.class, BuildType::getInternalId, BuildType::setInternalId)
+                    .field("project", NewProjectDescription.class, BuildType::getProject, BuildType::setProject)
+                    .field("name", String.class, BuildType::getName, BuildType::setName)
+                    .field("parameters", Properties.class, BuildType::getParameters, BuildType::setParameters)
+                    .field("steps", Steps.class, BuildType::getSteps, BuildType::setSteps)),
+            Map.entry(BuildTypes.class, ModelTypeAdapter.builder(BuildTypes::new)
+                    .field("count", Integer.class, BuildTypes::getCount, BuildTypes::setCount)
+                    .field("href", String.class, BuildTypes::getHref, BuildTypes::setHref)
+                    .field("nextHref", String.class, BuildTypes::getNextHref, BuildTypes::setNextHref)
+                    .field("prevHref", String.class, BuildTypes::getPrevHref, BuildTypes::setPrevHref)
+                    .list("buildType", BuildType.class, BuildTypes::getBuildType, BuildTypes::setBuildType)),
+            Map.entry(Link.class, ModelTypeAdapter.builder(Link::new)
+                    .field("type", String.class, Link::getType, Link::setType)
+                    .field("url", String.class, Link::getUrl, Link::setUrl)
+                    .field("relativeUrl", String.class, Link::getRelativeUrl, Link::setRelativeUrl)),
+            Map.entry(Links.class, ModelTypeAdapter.builder(Links::new)
+                    .field("count", Integer.class, Links::getCount, Links::setCount)
+                    .list("link", Link.class, Links::getLink, Links::setLink)),
+            Map.entry(NewProjectDescription.class, ModelTypeAdapter.builder(NewProjectDescription::new)
+                    .field("parentProject", Project.class, NewProjectDescription::getParentProject,
+                            NewProjectDescription::setParentProject)
+                    .field("name", String.class, NewProjectDescription::getName, NewProjectDescription::setName)
+                    .field("id", String.class, NewProjectDescription::getId, NewProjectDescription::setId)
+                    .field("copyAllAssociatedSettings", Boolean.class,
+                            NewProjectDescription::isCopyAllAssociatedSettings,
+                            NewProjectDescription::setCopyAllAssociatedSettings)),
+            Map.entry(Project.class, ModelTypeAdapter.builder(Project::new)
+                    .field("id", String.class, Project::getId, Project::setId)
+                    .field("name", String.class, Project::getName, Project::setName)
+                    .field("parentProjectId", String.class, Project::getParentProjectId, Project::setParentProjectId)
+                    .field("locator", String.class, Project::getLocator, Project::setLocator)),
+            Map.entry(Projects.class, ModelTypeAdapter.builder(Projects::new)
+                    .field("count", Integer.class, Projects::getCount, Projects::setCount)
+                    .field("href", String.class, Projects::getHref, Projects::setHref)
+                    .field("nextHref", String.class, Projects::getNextHref, Projects::setNextHref)
+                    .field("prevHref", String.class, Projects::getPrevHref, Projects::setPrevHref)
+                    .list("project", Project.class, Projects::getProject, Projects::setProject)),
+            Map.entry(Properties.class, ModelTypeAdapter.builder(Properties::new)
+                    .list("property", Property.class, Properties::getProperty, Properties::setProperty)
+                    .field("count", Integer.class, Properties::getCount, Properties::setCount)
+                    .field("href", String.class, Properties::getHref, Properties::setHref)),
+            Map.entry(Property.class, ModelTypeAdapter.builder(Property::new)
+                    .field("name", String.class, Property::getName, Property::setName)
+                    .field("value", String.class, Property::getValue, Property::setValue)
+                    .field("inherited", Boolean.class, Property::isInherited, Property::setInherited)
+                    .field("type", Type.class, Property::getType, Property::setType)),
+            Map.entry(Role.class, ModelTypeAdapter.builder(Role::new)
+                    .field("roleId", String.class, Role::getRoleId, Role::setRoleId)
+                    .field("scope", String.class, Role::getScope, Role::setScope)
+                    .field("href", String.class, Role::getHref, Role::setHref)),
+            Map.entry(Roles.class, ModelTypeAdapter.builder(Roles::new)
+                    .list("role", Role.class, Roles::getRole, Roles::setRole)),
+            Map.entry(Step.class, ModelTypeAdapter.builder(Step::new)
+                    .field("id", String.class, Step::getId, Step::setId)
+                    .field("name", String.class, Step::getName, Step::setName)
+                    .field("type", String.class, Step::getType, Step::setType)
+                    .field("properties", Properties.class, Step::getProperties, Step::setProperties)),
+            Map.entry(Steps.class, ModelTypeAdapter.builder(Steps::new)
+                    .field("count", Integer.class, Steps::getCount, Steps::setCount)
+                    .list("step", Step.class, Steps::getStep, Steps::setStep)),
+            Map.entry(Type.class, ModelTypeAdapter.builder(Type::new)
+                    .field("rawValue", String.class, Type::getRawValue, Type::setRawValue)),
+            Map.entry(User.class, ModelTypeAdapter.builder(User::new)
+                    .field("username", String.class, User::getUsername, User::setUsername)
+                    .field("password", String.class, User::getPassword, User::setPassword)
+                    .field("email", String.class, User::getEmail, User::setEmail)
+                    .field("roles", Roles.class, User::getRoles, User::setRoles)),
+            Map.entry(Users.class, ModelTypeAdapter.builder(Users::new)
+                    .field("count", Integer.class, Users::getCount, Users::setCount)
+                    .field("href", String.class, Users::getHref, Users::setHref)
+                    .field("nextHref", String.class, Users::getNextHref, Users::setNextHref)
+                    .field("prevHref", String.class, Users::getPrevHref, Users::setPrevHref)
+                    .list("user", User.class, Users::getUser, Users::setUser)));
+
+    private static final JsonMapper jsonMapper = new JsonMapper();
+    private final Gson gson;
+
+    private JsonMapper() {
+        gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new TypeAdapterFactory() {
+                    @Override
+                    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                        var model = MODELS.get(type.getRawType());
+                        @SuppressWarnings("unchecked")
+                        var adapter = model == null ? null : (TypeAdapter<T>) model.build(gson);
+                        return adapter;
+                    }
+                })
+                .disableHtmlEscaping()
+                .create();
+        // resolve every adapter up front instead of on the first request of each type
+        MODELS.keySet().forEach(gson::getAdapter);
+    }
+
+    public static JsonMapper getMapper() {
+        return jsonMapper;
+    }
+
+    /**
+     * The model classes (de)serialized through a {@link ModelTypeAdapter}.
+     */
+    public static Set<Class<?>> getModels() {
+        return MODELS.keySet();
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        return gson.fromJson(context.getDataToDeserialize().asString(), context.getType());
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        return gson.toJson(context.getObjectToSerialize());
+    }
+}
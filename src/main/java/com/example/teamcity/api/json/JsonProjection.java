@@ -0,0 +1,87 @@
+package com.example.teamcity.api.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selected scalar fields of a JSON document, read with the Jackson streaming parser. Fields are addressed by
+ * dotted paths ({@code id}, {@code parentProject.id}); objects no requested path goes into are skipped without
+ * being parsed into anything, and reading stops as soon as every requested field has been seen. Arrays are
+ * skipped as a whole.
+ */
+public class JsonProjection {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private final Map<String, String> values;
+
+    private JsonProjection(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static JsonProjection read(byte[] json, String... paths) {
+        var remaining = new HashSet<>(Arrays.asList(paths));
+        var prefixes = new HashSet<String>();
+        for (var path : paths) {
+            for (int dot = path.indexOf('.'); dot >= 0; dot = path.indexOf('.', dot + 1)) {
+                prefixes.add(path.substring(0, dot));
+            }
+        }
+        var values = new HashMap<String, String>();
+        try (var parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                readObject(parser, "", remaining, prefixes, values);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Response is not a JSON object: " + e.getMessage(), e);
+        }
+        return new JsonProjection(values);
+    }
+
+    /**
+     * @return the field's text, {@code null} when it is absent, JSON null or not a scalar
+     */
+    public String get(String path) {
+        return values.get(path);
+    }
+
+    public boolean has(String path) {
+        return values.containsKey(path);
+    }
+
+    public Map<String, String> asMap() {
+        return Map.copyOf(values);
+    }
+
+    /**
+     * @return false once every requested path has been read and the rest of the document can be ignored
+     */
+    private static boolean readObject(JsonParser parser, String prefix, Set<String> remaining, Set<String> prefixes,
+                                      Map<String, String> values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var path = prefix + parser.currentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT && prefixes.contains(path)) {
+                if (!readObject(parser, path + ".", remaining, prefixes, values)) {
+                    return false;
+                }
+            } else if (token.isScalarValue() && remaining.remove(path)) {
+                if (token != JsonToken.VALUE_NULL) {
+                    values.put(path, parser.getText());
+                }
+                if (remaining.isEmpty()) {
+                    return false;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return true;
+    }
+}
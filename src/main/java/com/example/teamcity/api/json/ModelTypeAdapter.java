@@ -0,0 +1,124 @@
+package com.example.teamcity.api.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Gson adapter for a model declared field by field with its getter and setter, so (de)serialization calls
+ * accessors directly instead of reading fields reflectively. Null values are not written, unknown JSON fields
+ * are skipped.
+ */
+public class ModelTypeAdapter<T> extends TypeAdapter<T> {
+    private final Supplier<T> constructor;
+    private final List<BoundField<T, ?>> fields;
+    private final Map<String, BoundField<T, ?>> fieldsByName = new HashMap<>();
+
+    private ModelTypeAdapter(Supplier<T> constructor, List<BoundField<T, ?>> fields) {
+        this.constructor = constructor;
+        this.fields = fields;
+        fields.forEach(field -> fieldsByName.put(field.name, field));
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> constructor) {
+        return new Builder<>(constructor);
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (var field : fields) {
+            field.write(out, value);
+        }
+        out.endObject();
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        var value = constructor.get();
+        in.beginObject();
+        while (in.hasNext()) {
+            var field = fieldsByName.get(in.nextName());
+            if (field == null || in.peek() == JsonToken.NULL) {
+                in.skipValue();
+            } else {
+                field.read(in, value);
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    public static class Builder<T> {
+        private final Supplier<T> constructor;
+        private final List<FieldSpec<T, ?>> fields = new ArrayList<>();
+
+        private Builder(Supplier<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        public <V> Builder<T> field(String name, Class<V> type, Function<T, V> getter, BiConsumer<T, V> setter) {
+            fields.add(new FieldSpec<>(name, type, getter, setter));
+            return this;
+        }
+
+        public <E> Builder<T> list(String name, Class<E> elementType, Function<T, List<E>> getter,
+                                   BiConsumer<T, List<E>> setter) {
+            fields.add(new FieldSpec<>(name, TypeToken.getParameterized(List.class, elementType).getType(),
+                    getter, setter));
+            return this;
+        }
+
+        /**
+         * Resolves the adapters of the field types; called once per Gson instance.
+         */
+        ModelTypeAdapter<T> build(Gson gson) {
+            return new ModelTypeAdapter<>(constructor, fields.stream()
+                    .<BoundField<T, ?>>map(field -> field.bind(gson))
+                    .toList());
+        }
+    }
+
+    private record FieldSpec<T, V>(String name, Type type, Function<T, V> getter, BiConsumer<T, V> setter) {
+        @SuppressWarnings("unchecked")
+        private BoundField<T, V> bind(Gson gson) {
+            return new BoundField<>(name, (TypeAdapter<V>) gson.getAdapter(TypeToken.get(type)), getter, setter);
+        }
+    }
+
+    private record BoundField<T, V>(String name, TypeAdapter<V> adapter, Function<T, V> getter,
+                                    BiConsumer<T, V> setter) {
+        private void write(JsonWriter out, T object) throws IOException {
+            var value = getter.apply(object);
+            if (value != null) {
+                out.name(name);
+                adapter.write(out, value);
+            }
+        }
+
+        private void read(JsonReader in, T object) throws IOException {
+            setter.accept(object, adapter.read(in));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.teamcity.api.load;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.generators.TestDataCleaner;
+import com.example.teamcity.api.generators.TestDataGenerator;
+import com.example.teamcity.api.metrics.RequestMetrics;
+import com.example.teamcity.api.requests.RequestExecutors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: scenarios from a weighted mix are started at a fixed arrival rate no matter how
+ * long earlier ones take, on the async request executor. Latency is recorded against the scheduled start time,
+ * so a slow server shows up as growing response times instead of a quietly lowered request rate.
+ * <p>
+ * Configured by {@code load.mix} ({@code SCENARIO:weight,...}), {@code load.rate} (scenarios per second),
+ * {@code load.duration.seconds} and {@code load.report}; {@code --mix=}, {@code --rate=} and {@code --duration=}
+ * arguments of {@link #main} take precedence.
+ */
+public class LoadDriver {
+    private final List<LoadScenario> mix;
+    private final double rate;
+    private final Duration duration;
+    private final Executor executor;
+
+    public LoadDriver(Map<LoadScenario, Integer> weights, double rate, Duration duration, Executor executor) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + rate);
+        }
+        var mix = new ArrayList<LoadScenario>();
+        weights.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                mix.add(scenario);
+            }
+        });
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix is empty");
+        }
+        this.mix = List.copyOf(mix);
+        this.rate = rate;
+        this.duration = duration;
+        this.executor = executor;
+    }
+
+    public static void main(String[] args) {
+        var settings = new LinkedHashMap<String, String>();
+        settings.put("mix", Config.getProperty("load.mix"));
+        settings.put("rate", Config.getProperty("load.rate"));
+        settings.put("duration", Config.getProperty("load.duration.seconds"));
+        for (var arg : args) {
+            var pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !settings.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected one of --"
+                        + String.join("=, --", settings.keySet()) + "=");
+            }
+            settings.put(pair[0], pair[1]);
+        }
+
+        var driver = new LoadDriver(parseMix(settings.get("mix")), Double.parseDouble(settings.get("rate").trim()),
+                Duration.ofSeconds(Long.parseLong(settings.get("duration").trim())), RequestExecutors.getExecutor());
+        var report = driver.run();
+        System.out.print(report.toText());
+        report.writeJson(Path.of(Config.getProperty("load.report")));
+        RequestMetrics.getMetrics().writeJson(Path.of(Config.getProperty("metrics.output")));
+    }
+
+    public static Map<LoadScenario, Integer> parseMix(String mix) {
+        var weights = new LinkedHashMap<LoadScenario, Integer>();
+        for (var entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            var pair = entry.trim().split(":", 2);
+            weights.merge(LoadScenario.valueOf(pair[0].trim()),
+                    pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 1, Integer::sum);
+        }
+        return weights;
+    }
+
+    public LoadReport run() {
+        var report = new LoadReport(rate);
+        var interval = (long) (1_000_000_000L / rate);
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        var start = System.nanoTime();
+        var end = start + duration.toNanos();
+        for (long intendedStart = start; intendedStart < end; intendedStart += interval) {
+            long delay;
+            while ((delay = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            var scenario = mix.get(ThreadLocalRandom.current().nextInt(mix.size()));
+            var scheduled = intendedStart;
+            futures.add(CompletableFuture.runAsync(() -> execute(scenario, scheduled, report), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private static void execute(LoadScenario scenario, long intendedStart, LoadReport report) {
+        var testData = TestDataGenerator.generate();
+        var actualStart = System.nanoTime();
+        try {
+            scenario.run(testData);
+            report.recordSuccess(scenario, intendedStart, actualStart, System.nanoTime());
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows I/O errors unchecked, they count as failed scenarios as well
+            report.recordFailure(scenario, intendedStart, actualStart, System.nanoTime(), e);
+            TestDataCleaner.delete(List.of(testData));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.teamcity.api.load;
+
+import com.google.gson.GsonBuilder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency of a load run per scenario. Response time is measured from the moment the scenario
+ * was scheduled to start, service time from the moment a thread actually picked it up; the gap between the two
+ * is queueing that a closed-loop driver would silently omit.
+ */
+public class LoadReport {
+    private final double targetRate;
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    public LoadReport(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    public void recordSuccess(LoadScenario scenario, long intendedStart, long actualStart, long end) {
+        stats(scenario).record(intendedStart, actualStart, end);
+    }
+
+    public void recordFailure(LoadScenario scenario, long intendedStart, long actualStart, long end, Throwable error) {
+        var stats = stats(scenario);
+        stats.record(intendedStart, actualStart, end);
+        stats.failures.increment();
+        errors.computeIfAbsent(scenario + " " + error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    public void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String toText() {
+        var text = new StringBuilder(String.format("Target rate %.2f/s, elapsed %.1f s%n",
+                targetRate, elapsedNanos / 1e9));
+        text.append(String.format("%-26s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "count", "errors", "rate/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        new TreeMap<>(scenarios).forEach((name, stats) -> {
+            var responseTime = stats.responseTime.copy();
+            text.append(String.format("%-26s %8d %7d %9.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    name, responseTime.getTotalCount(), stats.failures.sum(), rate(responseTime.getTotalCount()),
+                    millis(responseTime, 50), millis(responseTime, 90), millis(responseTime, 99),
+                    millis(responseTime, 99.9), responseTime.getMaxValue() / 1000.0));
+        });
+        new TreeMap<>(errors).forEach((key, count) -> text.append(String.format("error %s x%d%n", key, count.sum())));
+        return text.toString();
+    }
+
+    public String toJson() {
+        var report = new LinkedHashMap<String, Object>();
+        report.put("unit", "ms");
+        report.put("targetRate", targetRate);
+        report.put("elapsedSeconds", elapsedNanos / 1e9);
+        var scenarioSummaries = new LinkedHashMap<String, Object>();
+        new TreeMap<>(scenarios).forEach((name, stats) -> {
+            var summary = new LinkedHashMap<String, Object>();
+            summary.put("count", stats.responseTime.getTotalCount());
+            summary.put("failures", stats.failures.sum());
+            summary.put("throughput", rate(stats.responseTime.getTotalCount()));
+            summary.put("responseTime", percentiles(stats.responseTime.copy()));
+            summary.put("serviceTime", percentiles(stats.serviceTime.copy()));
+            scenarioSummaries.put(name, summary);
+        });
+        report.put("scenarios", scenarioSummaries);
+        var errorCounts = new TreeMap<String, Long>();
+        errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+        report.put("errors", errorCounts);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    public void writeJson(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, toJson());
+        } catch (IOException e) {
+            System.err.println("Error during writing load report to " + path);
+        }
+    }
+
+    private Stats stats(LoadScenario scenario) {
+        return scenarios.computeIfAbsent(scenario.name(), key -> new Stats());
+    }
+
+    private double rate(long count) {
+        return elapsedNanos == 0 ? 0 : count / (elapsedNanos / 1e9);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("mean", histogram.getMean() / 1000);
+        summary.put("p50", millis(histogram, 50));
+        summary.put("p90", millis(histogram, 90));
+        summary.put("p99", millis(histogram, 99));
+        summary.put("p99.9", millis(histogram, 99.9));
+        summary.put("max", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    private static class Stats {
+        private final Histogram responseTime = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder failures = new LongAdder();
+
+        private void record(long intendedStart, long actualStart, long end) {
+            responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(end - intendedStart));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(end - actualStart));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.teamcity.api.load;
+
+import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.enums.Scope;
+import com.example.teamcity.api.generators.TestData;
+import com.example.teamcity.api.generators.TestDataGenerator;
+import com.example.teamcity.api.requests.CheckedRequests;
+import com.example.teamcity.api.requests.UncheckedRequests;
+import com.example.teamcity.api.spec.Specifications;
+import io.restassured.response.Response;
+
+import static org.apache.http.HttpStatus.SC_MULTIPLE_CHOICES;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Unit of work the load driver schedules. Each scenario creates its entities with the Checked requests and
+ * deletes them again, so a failed step surfaces as an AssertionError exactly like in the tests.
+ */
+public enum LoadScenario {
+    PROJECT_LIFECYCLE {
+        @Override
+        public void run(TestData testData) {
+            superUser().getProjectRequest().create(testData.getProject());
+            deleted(uncheckedSuperUser().getProjectRequest().delete(testData.getProject().getId()));
+        }
+    },
+    BUILD_TYPE_LIFECYCLE {
+        @Override
+        public void run(TestData testData) {
+            var superUser = superUser();
+            superUser.getProjectRequest().create(testData.getProject());
+            superUser.getBuildConfigRequest().create(testData.getBuildType());
+            deleted(uncheckedSuperUser().getBuildConfigRequest().delete(testData.getBuildType().getId()));
+            deleted(uncheckedSuperUser().getProjectRequest().delete(testData.getProject().getId()));
+        }
+    },
+    PROJECT_ADMIN_LIFECYCLE {
+        @Override
+        public void run(TestData testData) {
+            var superUser = superUser();
+            superUser.getProjectRequest().create(testData.getProject());
+            testData.getUser().setRoles(TestDataGenerator.generateRoles(Role.PROJECT_ADMIN,
+                    Scope.PROJECT.getText() + testData.getProject().getId()));
+            superUser.getUserRequest().create(testData.getUser());
+            new CheckedRequests(Specifications.getSpec().authSpec(testData.getUser()))
+                    .getBuildConfigRequest().create(testData.getBuildType());
+            deleted(uncheckedSuperUser().getUserRequest().delete(testData.getUser().getUsername()));
+            deleted(uncheckedSuperUser().getProjectRequest().delete(testData.getProject().getId()));
+        }
+    };
+
+    public abstract void run(TestData testData);
+
+    private static CheckedRequests superUser() {
+        return new CheckedRequests(Specifications.getSpec().superUserSpec());
+    }
+
+    private static UncheckedRequests uncheckedSuperUser() {
+        return new UncheckedRequests(Specifications.getSpec().superUserSpec());
+    }
+
+    private static void deleted(Response response) {
+        response.then().assertThat().statusCode(lessThan(SC_MULTIPLE_CHOICES));
+    }
+}
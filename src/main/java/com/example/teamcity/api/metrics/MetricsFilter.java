@@ -0,0 +1,30 @@
+package com.example.teamcity.api.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+public class MetricsFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        var start = System.nanoTime();
+        var response = context.next(requestSpec, responseSpec);
+        RequestMetrics.getMetrics().record(requestSpec.getMethod(), path(requestSpec.getURI()),
+                response.getStatusCode(), System.nanoTime() - start);
+        return response;
+    }
+
+    private static String path(String uri) {
+        var authorityStart = uri.indexOf("://");
+        var pathStart = uri.indexOf('/', authorityStart < 0 ? 0 : authorityStart + 3);
+        var queryStart = uri.indexOf('?');
+        if (pathStart < 0) {
+            return "/";
+        }
+        return queryStart > pathStart ? uri.substring(pathStart, queryStart) : uri.substring(pathStart);
+    }
+}
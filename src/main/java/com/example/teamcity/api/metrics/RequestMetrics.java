@@ -0,0 +1,91 @@
+package com.example.teamcity.api.metrics;
+
+import com.example.teamcity.api.requests.cache.ResponseCache;
+import com.example.teamcity.api.requests.coalesce.RequestCoalescer;
+import com.google.gson.GsonBuilder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Latency histograms (microseconds) per HTTP method, endpoint template and status code; the report also carries
+ * the response cache and request coalescing counters.
+ */
+public class RequestMetrics {
+    private static final RequestMetrics requestMetrics = new RequestMetrics();
+    private static final Pattern LOCATOR = Pattern.compile("/([A-Za-z]+)(?::|%3A)[^/]+");
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private RequestMetrics() {}
+
+    public static RequestMetrics getMetrics() {
+        return requestMetrics;
+    }
+
+    public static String endpointTemplate(String path) {
+        return LOCATOR.matcher(path).replaceAll("/$1:{}");
+    }
+
+    public void record(String method, String path, int statusCode, long nanos) {
+        histograms.computeIfAbsent(method + " " + endpointTemplate(path) + " " + statusCode,
+                        key -> new ConcurrentHistogram(3))
+                .recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public String toJson() {
+        var endpoints = histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> summary(entry.getKey(), entry.getValue()))
+                .toList();
+        var report = new LinkedHashMap<String, Object>();
+        report.put("unit", "ms");
+        report.put("endpoints", endpoints);
+        var cache = ResponseCache.getCache();
+        report.put("cache", new TreeMap<>(Map.of("hits", cache.getHits(), "revalidations", cache.getRevalidations(),
+                "misses", cache.getMisses())));
+        var coalescer = RequestCoalescer.getCoalescer();
+        report.put("coalescing", new TreeMap<>(Map.of("sent", coalescer.getSent(),
+                "saved", coalescer.getSaved())));
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    public void writeJson(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, toJson());
+        } catch (IOException e) {
+            System.err.println("Error during writing request metrics to " + path);
+        }
+    }
+
+    private static Map<String, Object> summary(String key, Histogram histogram) {
+        var parts = key.split(" ", 3);
+        var copy = histogram.copy();
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("method", parts[0]);
+        summary.put("endpoint", parts[1]);
+        summary.put("status", Integer.parseInt(parts[2]));
+        summary.put("count", copy.getTotalCount());
+        summary.put("mean", copy.getMean() / 1000);
+        summary.put("p50", copy.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90", copy.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99", copy.getValueAtPercentile(99) / 1000.0);
+        summary.put("max", copy.getMaxValue() / 1000.0);
+        return summary;
+    }
+}
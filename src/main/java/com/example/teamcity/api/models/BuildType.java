@@ -14,5 +14,6 @@ public class BuildType {
     private String internalId;
     private NewProjectDescription project;
     private String name;
-
+    private Properties parameters;
+    private Steps steps;
 }
@@ -0,0 +1,17 @@
+package com.example.teamcity.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Step {
+    private String id;
+    private String name;
+    private String type;
+    private Properties properties;
+}
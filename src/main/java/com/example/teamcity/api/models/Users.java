@@ -0,0 +1,20 @@
+package com.example.teamcity.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Users {
+    private int count;
+    private String href;
+    private String nextHref;
+    private String prevHref;
+    private List<User> user;
+}
@@ -0,0 +1,28 @@
+package com.example.teamcity.api.requests;
+
+import com.example.teamcity.api.requests.checked.AsyncCheckedBuildConfig;
+import com.example.teamcity.api.requests.checked.AsyncCheckedProject;
+import com.example.teamcity.api.requests.checked.AsyncCheckedUser;
+import io.restassured.specification.RequestSpecification;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+
+@Getter
+public class AsyncCheckedRequests {
+
+    private AsyncCheckedUser userRequest;
+    private AsyncCheckedProject projectRequest;
+    private AsyncCheckedBuildConfig buildConfigRequest;
+    public AsyncCheckedRequests(RequestSpecification spec) {
+        this.userRequest = new AsyncCheckedUser(spec);
+        this.projectRequest = new AsyncCheckedProject(spec);
+        this.buildConfigRequest = new AsyncCheckedBuildConfig(spec);
+    }
+
+    public AsyncCheckedRequests(RequestSpecification spec, Executor executor) {
+        this.userRequest = new AsyncCheckedUser(spec, executor);
+        this.projectRequest = new AsyncCheckedProject(spec, executor);
+        this.buildConfigRequest = new AsyncCheckedBuildConfig(spec, executor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.teamcity.api.requests;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCrudInterface {
+    public CompletableFuture<?> create(Object object);
+
+    public CompletableFuture<?> get(String id);
+
+    public CompletableFuture<?> update(Object object);
+
+    public CompletableFuture<?> delete(String id);
+}
@@ -0,0 +1,35 @@
+package com.example.teamcity.api.requests;
+
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+public class AsyncRequest extends Request {
+    protected final Executor executor;
+
+    public AsyncRequest(RequestSpecification spec) {
+        this(spec, RequestExecutors.getExecutor());
+    }
+
+    public AsyncRequest(RequestSpecification spec, Executor executor) {
+        super(spec);
+        this.executor = executor;
+    }
+
+    protected CompletableFuture<Response> sendAsync(Method method, String path) {
+        return sendAsync(method, path, null, null);
+    }
+
+    protected CompletableFuture<Response> sendAsync(Method method, String path, Object body) {
+        return sendAsync(method, path, body, null);
+    }
+
+    protected CompletableFuture<Response> sendAsync(Method method, String path, Object body,
+                                                    Supplier<CompletableFuture<Response>> existing) {
+        return sendAsync(method, path, body, existing, executor);
+    }
+}
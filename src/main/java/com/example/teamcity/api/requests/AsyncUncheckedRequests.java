@@ -0,0 +1,28 @@
+package com.example.teamcity.api.requests;
+
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedBuildConfig;
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedProject;
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedUser;
+import io.restassured.specification.RequestSpecification;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+
+@Getter
+public class AsyncUncheckedRequests {
+
+    private AsyncUncheckedUser userRequest;
+    private AsyncUncheckedProject projectRequest;
+    private AsyncUncheckedBuildConfig buildConfigRequest;
+    public AsyncUncheckedRequests(RequestSpecification spec) {
+        this.userRequest = new AsyncUncheckedUser(spec);
+        this.projectRequest = new AsyncUncheckedProject(spec);
+        this.buildConfigRequest = new AsyncUncheckedBuildConfig(spec);
+    }
+
+    public AsyncUncheckedRequests(RequestSpecification spec, Executor executor) {
+        this.userRequest = new AsyncUncheckedUser(spec, executor);
+        this.projectRequest = new AsyncUncheckedProject(spec, executor);
+        this.buildConfigRequest = new AsyncUncheckedBuildConfig(spec, executor);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.teamcity.api.requests;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.generators.ProjectHierarchy;
+import com.example.teamcity.api.generators.TestData;
+import com.example.teamcity.api.generators.TestDataCleaner;
+import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.models.Project;
+import io.restassured.specification.RequestSpecification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Creates the projects and build types of a whole TestData graph with as few round trips on the critical path
+ * as possible. TeamCity has no batch endpoint, so projects are created level by level along the parentProject
+ * chain, and build types are pipelined with up to {@code bulk.chunk.size} in flight, the next one sent as soon as
+ * any completes. Every build type goes out as a single POST that already carries its parameters and steps. Projects
+ * must have ids; users are not created. When a request fails, no further build types are sent, the ones in flight
+ * still complete, everything created so far is deleted with {@link TestDataCleaner}, by the ids the server
+ * returned, and the failure is rethrown.
+ */
+public class BulkRequests {
+    private final AsyncCheckedRequests asyncCheckedRequests;
+    private final int chunkSize = Config.getIntProperty("bulk.chunk.size", 16);
+
+    public BulkRequests(RequestSpecification spec) {
+        this.asyncCheckedRequests = new AsyncCheckedRequests(spec);
+    }
+
+    public BulkRequests(RequestSpecification spec, Executor executor) {
+        this.asyncCheckedRequests = new AsyncCheckedRequests(spec, executor);
+    }
+
+    public Result create(Collection<TestData> testDataList) {
+        var projects = new LinkedHashMap<String, NewProjectDescription>();
+        testDataList.stream()
+                .map(TestData::getProject)
+                .filter(Objects::nonNull)
+                .forEach(project -> {
+                    if (project.getId() == null) {
+                        throw new IllegalArgumentException("Bulk creation needs project ids, project "
+                                + project.getName() + " has none");
+                    }
+                    projects.putIfAbsent(project.getId(), project);
+                });
+        var buildTypes = testDataList.stream()
+                .map(TestData::getBuildType)
+                .filter(Objects::nonNull)
+                .toList();
+
+        var created = new ConcurrentLinkedQueue<TestData>();
+        var createdProjects = new ArrayList<Project>();
+        var createdBuildTypes = new ArrayList<BuildType>();
+        try {
+            for (var level : ProjectHierarchy.rootFirst(projects.values())) {
+                createdProjects.addAll(joinAll(level.stream()
+                        .map(project -> tracked(asyncCheckedRequests.getProjectRequest().create(project),
+                                BulkRequests::createdProject, created))
+                        .toList()));
+            }
+            createdBuildTypes.addAll(joinAll(pipelined(buildTypes, created)));
+        } catch (CompletionException e) {
+            System.err.println("Bulk creation failed, rolling back " + created.size() + " created entities: "
+                    + e.getCause());
+            TestDataCleaner.delete(List.copyOf(created));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        return new Result(createdProjects, createdBuildTypes);
+    }
+
+    /**
+     * Sends the build types with at most {@code bulk.chunk.size} in flight; stops sending after the first failure.
+     */
+    private List<CompletableFuture<BuildType>> pipelined(List<BuildType> buildTypes, Queue<TestData> created) {
+        var permits = new Semaphore(chunkSize);
+        var failed = new AtomicBoolean();
+        var futures = new ArrayList<CompletableFuture<BuildType>>();
+        for (var buildType : buildTypes) {
+            permits.acquireUninterruptibly();
+            if (failed.get()) {
+                break;
+            }
+            var future = tracked(asyncCheckedRequests.getBuildConfigRequest().create(buildType),
+                    result -> TestData.builder().buildType(result).build(), created);
+            future.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    failed.set(true);
+                }
+                permits.release();
+            });
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    private static <T> CompletableFuture<T> tracked(CompletableFuture<T> request, Function<T, TestData> testData,
+                                                    Queue<TestData> created) {
+        return request.thenApply(result -> {
+            created.add(testData.apply(result));
+            return result;
+        });
+    }
+
+    // rolled back by what the server created, with the parent for deleting subprojects first
+    private static TestData createdProject(Project project) {
+        return TestData.builder()
+                .project(NewProjectDescription.builder()
+                        .id(project.getId())
+                        .name(project.getName())
+                        .parentProject(project.getParentProjectId() == null ? null
+                                : Project.builder().id(project.getParentProjectId()).build())
+                        .build())
+                .build();
+    }
+
+    // allOf completes only once every future has, so the successes around a failure are tracked as well
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private List<Project> projects;
+        private List<BuildType> buildTypes;
+    }
+}
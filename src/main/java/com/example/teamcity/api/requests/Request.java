@@ -1,10 +1,208 @@
 package com.example.teamcity.api.requests;
 
+import com.example.teamcity.api.requests.cache.ResponseCache;
+import com.example.teamcity.api.requests.coalesce.RequestCoalescer;
+import com.example.teamcity.api.requests.limit.EndpointLimits;
+import com.example.teamcity.api.requests.retry.RetryPolicy;
+import com.example.teamcity.api.requests.transport.Transports;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+
 public class Request {
     protected final RequestSpecification spec;
     public Request(RequestSpecification spec) {
         this.spec = spec;
     }
+
+    protected Response send(Method method, String path) {
+        return send(method, path, null, null);
+    }
+
+    protected Response send(Method method, String path, Object body) {
+        return send(method, path, body, null);
+    }
+
+    /**
+     * Sends the request through the shared rate and concurrency limits of its endpoint and retries transient
+     * failures according to {@link RetryPolicy}; the caller gets the outcome of the last attempt. Non-idempotent
+     * requests are retried only with an {@code existing} lookup: when a retry is rejected because an earlier
+     * attempt already created the entity, the lookup's response is returned instead. GETs go through the
+     * {@link ResponseCache}, and on a miss share one in-flight call with identical GETs of other threads
+     * ({@link RequestCoalescer}); everything else invalidates the cache and detaches the in-flight GETs it affects.
+     */
+    protected Response send(Method method, String path, Object body, Supplier<Response> existing) {
+        var cache = ResponseCache.getCache();
+        if (method == Method.GET) {
+            return cache.get(spec, path, etag -> RequestCoalescer.getCoalescer().execute(spec, method, path, etag,
+                    () -> retried(method, path, body, existing, etag)));
+        }
+        try {
+            return retried(method, path, body, existing, null);
+        } finally {
+            cache.invalidate(method, path);
+            RequestCoalescer.getCoalescer().invalidate(method, path);
+        }
+    }
+
+    private Response retried(Method method, String path, Object body, Supplier<Response> existing, String etag) {
+        var retryPolicy = RetryPolicy.getPolicy();
+        var retryable = RetryPolicy.isIdempotent(method) || existing != null;
+        retryPolicy.onFirstAttempt();
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+            try {
+                response = limited(method, path, body, etag);
+            } catch (Exception e) {
+                // RestAssured rethrows I/O errors undeclared, so they can't be caught by type
+                if (!shouldRetry(retryable, e, attempt)) {
+                    throw e;
+                }
+                retryPolicy.backoff(attempt, null);
+                continue;
+            }
+            if (attempt > 1 && existing != null && isAlreadyExists(response)) {
+                var found = existing.get();
+                return found.getStatusCode() < 300 ? found : response;
+            }
+            if (!shouldRetry(retryable, response, attempt)) {
+                return response;
+            }
+            retryPolicy.backoff(attempt, response.getHeader("Retry-After"));
+        }
+    }
+
+    /**
+     * Like {@link #send(Method, String, Object, Supplier)}, without holding a thread while the request is in
+     * flight: the transport sends asynchronously, and retries, limits and the cache run as continuations. Waiting
+     * for a rate or concurrency permit and transports that can only block run on {@code executor}. Responses
+     * complete on the transport's threads, so they are not written to the caller's {@code RequestLog}.
+     */
+    protected CompletableFuture<Response> sendAsync(Method method, String path, Object body,
+                                                    Supplier<CompletableFuture<Response>> existing,
+                                                    Executor executor) {
+        var cache = ResponseCache.getCache();
+        if (method == Method.GET) {
+            return cache.getAsync(spec, path, etag -> RequestCoalescer.getCoalescer().executeAsync(spec, method, path,
+                    etag, () -> retriedAsync(method, path, body, existing, etag, executor)));
+        }
+        return retriedAsync(method, path, body, existing, null, executor).whenComplete((response, failure) -> {
+            cache.invalidate(method, path);
+            RequestCoalescer.getCoalescer().invalidate(method, path);
+        });
+    }
+
+    private CompletableFuture<Response> retriedAsync(Method method, String path, Object body,
+                                                     Supplier<CompletableFuture<Response>> existing, String etag,
+                                                     Executor executor) {
+        RetryPolicy.getPolicy().onFirstAttempt();
+        return attemptAsync(1, method, path, body, existing, etag, executor);
+    }
+
+    private CompletableFuture<Response> attemptAsync(int attempt, Method method, String path, Object body,
+                                                     Supplier<CompletableFuture<Response>> existing, String etag,
+                                                     Executor executor) {
+        var retryable = RetryPolicy.isIdempotent(method) || existing != null;
+        return limitedAsync(method, path, body, etag, executor).handle((response, failure) -> {
+            String retryAfter = null;
+            if (failure != null) {
+                var cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                if (!(cause instanceof Exception e) || !shouldRetry(retryable, e, attempt)) {
+                    return CompletableFuture.<Response>failedFuture(cause);
+                }
+            } else if (attempt > 1 && existing != null && isAlreadyExists(response)) {
+                return existing.get().thenApply(found -> found.getStatusCode() < 300 ? found : response);
+            } else if (!shouldRetry(retryable, response, attempt)) {
+                return CompletableFuture.completedFuture(response);
+            } else {
+                retryAfter = response.getHeader("Retry-After");
+            }
+            var delay = CompletableFuture.delayedExecutor(
+                    RetryPolicy.getPolicy().backoffMillis(attempt, retryAfter), TimeUnit.MILLISECONDS, executor);
+            return CompletableFuture.supplyAsync(() -> null, delay)
+                    .thenCompose(ignored -> attemptAsync(attempt + 1, method, path, body, existing, etag, executor));
+        }).thenCompose(Function.identity());
+    }
+
+    private static boolean shouldRetry(boolean retryable, Exception failure, int attempt) {
+        return retryable && RetryPolicy.isTransportError(failure) && RetryPolicy.getPolicy().canRetry(attempt);
+    }
+
+    private static boolean shouldRetry(boolean retryable, Response response, int attempt) {
+        var retryPolicy = RetryPolicy.getPolicy();
+        return retryable && retryPolicy.isRetryable(response.getStatusCode())
+                && retryPolicy.acceptsRetryAfter(response.getHeader("Retry-After"))
+                && retryPolicy.canRetry(attempt);
+    }
+
+    private Response limited(Method method, String path, Object body, String etag) {
+        var limits = EndpointLimits.forPath(path);
+        if (limits == null) {
+            return execute(method, path, body, etag);
+        }
+        limits.acquire();
+        var start = System.nanoTime();
+        var statusCode = -1;
+        try {
+            var response = execute(method, path, body, etag);
+            statusCode = response.getStatusCode();
+            return response;
+        } finally {
+            limits.release(statusCode, System.nanoTime() - start);
+        }
+    }
+
+    private CompletableFuture<Response> limitedAsync(Method method, String path, Object body, String etag,
+                                                     Executor executor) {
+        var limits = EndpointLimits.forPath(path);
+        if (limits == null) {
+            return executeAsync(method, path, body, etag, executor);
+        }
+        // acquiring may wait for a permit
+        return CompletableFuture.runAsync(limits::acquire, executor).thenCompose(acquired -> {
+            var start = System.nanoTime();
+            CompletableFuture<Response> response;
+            try {
+                response = executeAsync(method, path, body, etag, executor);
+            } catch (RuntimeException e) {
+                limits.release(-1, System.nanoTime() - start);
+                throw e;
+            }
+            return response.whenComplete((result, failure) ->
+                    limits.release(result == null ? -1 : result.getStatusCode(), System.nanoTime() - start));
+        });
+    }
+
+    private Response execute(Method method, String path, Object body, String etag) {
+        return Transports.getTransport().send(spec, method, path, body,
+                etag == null ? Map.of() : Map.of("If-None-Match", etag));
+    }
+
+    private CompletableFuture<Response> executeAsync(Method method, String path, Object body, String etag,
+                                                     Executor executor) {
+        return Transports.getTransport().sendAsync(spec, method, path, body,
+                etag == null ? Map.of() : Map.of("If-None-Match", etag), executor);
+    }
+
+    /**
+     * Whether TeamCity rejected a create as a duplicate, e.g. "Project ID "x" is already used by another project"
+     * or "... already exists"; other errors mentioning "already" don't count.
+     */
+    static boolean isAlreadyExists(Response response) {
+        if (response.getStatusCode() != SC_BAD_REQUEST) {
+            return false;
+        }
+        var body = response.asString();
+        return body.contains("already exists") || body.contains("is already used");
+    }
 }
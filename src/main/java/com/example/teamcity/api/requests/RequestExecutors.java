@@ -0,0 +1,37 @@
+package com.example.teamcity.api.requests;
+
+import com.example.teamcity.api.config.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for async requests: virtual threads when {@code async.executor = virtual} and the JDK has them
+ * (21+), otherwise a bounded pool of {@code async.pool.size} daemon threads.
+ */
+public class RequestExecutors {
+    private static final ExecutorService executor = createExecutor();
+
+    private RequestExecutors() {}
+
+    public static ExecutorService getExecutor() {
+        return executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        if ("virtual".equalsIgnoreCase(Config.getProperty("async.executor"))) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Virtual threads are not available, falling back to a bounded pool");
+            }
+        }
+        var threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Config.getIntProperty("async.pool.size", 32), runnable -> {
+            var thread = new Thread(runnable, "async-request-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
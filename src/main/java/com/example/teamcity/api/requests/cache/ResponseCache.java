@@ -0,0 +1,286 @@
+package com.example.teamcity.api.requests.cache;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.requests.limit.EndpointLimits;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Read-through cache of successful GETs on the resources in {@code cache.endpoints}, switched on with
+ * {@code cache.enabled = true}. Entries are kept per spec (i.e. per principal, as {@code Specifications} hands out
+ * one spec per principal), at most {@code cache.size} of them (LRU). After {@code cache.ttl.seconds} an entry is
+ * revalidated with If-None-Match when the server sent an ETag, and fetched again otherwise.
+ * <p>
+ * Every other request invalidates, for all specs, the cached entries under its locator and the collection
+ * listings of its resource. Projects embed their subprojects and build types, so creating a project or writing a
+ * build type also drops all projects, and deleting a project drops all projects and build types, as their
+ * subprojects and build types go with it. A GET still in flight when a key is invalidated is not stored, its
+ * response may predate the change. Calls inside {@link #bypass(Supplier)} always go to the server, e.g. in negative
+ * tests.
+ */
+public class ResponseCache {
+    private static final ResponseCache responseCache = new ResponseCache();
+    private static final String REST_PREFIX = "/app/rest/";
+    private static final String PROJECTS = "projects";
+    private static final String BUILD_TYPES = "buildTypes";
+    private static final ThreadLocal<Integer> bypassDepth = ThreadLocal.withInitial(() -> 0);
+
+    // the parsed cache.endpoints, kept as long as the setting is unchanged
+    private volatile Endpoints endpoints = new Endpoints("");
+    private final Map<Key, Entry> entries;
+    private final Set<Load> loads = new HashSet<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private ResponseCache() {
+        var size = Config.getIntProperty("cache.size", 1000);
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    public static ResponseCache getCache() {
+        return responseCache;
+    }
+
+    /**
+     * Runs {@code call} with the cache skipped on the current thread; its responses still refresh the cache.
+     */
+    public static <T> T bypass(Supplier<T> call) {
+        bypassDepth.set(bypassDepth.get() + 1);
+        try {
+            return call.get();
+        } finally {
+            bypassDepth.set(bypassDepth.get() - 1);
+        }
+    }
+
+    /**
+     * @param spec   identity of the principal; compared by reference
+     * @param send   sends the GET, with an If-None-Match value or {@code null}
+     */
+    public Response get(Object spec, String path, Function<String, Response> send) {
+        if (!isCached(path)) {
+            return send.apply(null);
+        }
+        var key = new Key(spec, path);
+        var entry = lookup(key);
+        if (isFresh(entry)) {
+            hits.incrementAndGet();
+            return entry.copy();
+        }
+        var load = startLoad(key);
+        try {
+            return store(load, entry, send.apply(entry == null ? null : entry.etag));
+        } finally {
+            endLoad(load);
+        }
+    }
+
+    /**
+     * Like {@link #get}, for a {@code send} that completes later; the lookup happens on the calling thread.
+     */
+    public CompletableFuture<Response> getAsync(Object spec, String path,
+                                                Function<String, CompletableFuture<Response>> send) {
+        if (!isCached(path)) {
+            return send.apply(null);
+        }
+        var key = new Key(spec, path);
+        var entry = lookup(key);
+        if (isFresh(entry)) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(entry.copy());
+        }
+        var load = startLoad(key);
+        CompletableFuture<Response> response;
+        try {
+            response = send.apply(entry == null ? null : entry.etag);
+        } catch (RuntimeException | Error e) {
+            endLoad(load);
+            throw e;
+        }
+        return response.thenApply(result -> store(load, entry, result))
+                .whenComplete((result, failure) -> endLoad(load));
+    }
+
+    public void invalidate(Method method, String path) {
+        if (!Config.getBooleanProperty("cache.enabled")) {
+            return;
+        }
+        var affected = affectedBy(method, path);
+        synchronized (this) {
+            entries.keySet().removeIf(key -> affected.test(key.path));
+            loads.stream()
+                    .filter(load -> affected.test(load.key.path))
+                    .forEach(load -> load.stale = true);
+        }
+    }
+
+    /**
+     * The GET paths whose responses a {@code method} request on {@code path} may change.
+     */
+    public static Predicate<String> affectedBy(Method method, String path) {
+        var endpoint = EndpointLimits.endpoint(path);
+        var collection = REST_PREFIX + endpoint;
+        var locator = path.startsWith(collection + "/") ? path.substring(collection.length() + 1).split("[/?]")[0]
+                : null;
+        if (method == Method.DELETE && PROJECTS.equals(endpoint)) {
+            return getPath -> isUnder(getPath, REST_PREFIX + PROJECTS) || isUnder(getPath, REST_PREFIX + BUILD_TYPES);
+        }
+        Predicate<String> own = getPath -> getPath.equals(collection) || getPath.startsWith(collection + "?")
+                || locator != null && isUnder(getPath, collection + "/" + locator);
+        var createsProject = method == Method.POST && PROJECTS.equals(endpoint) && locator == null;
+        if (createsProject || BUILD_TYPES.equals(endpoint)) {
+            // the parent of a new project and the project of a build type list it
+            return own.or(getPath -> isUnder(getPath, REST_PREFIX + PROJECTS));
+        }
+        return own;
+    }
+
+    private static boolean isUnder(String path, String prefix) {
+        return path.startsWith(prefix) && (path.length() == prefix.length()
+                || path.charAt(prefix.length()) == '/' || path.charAt(prefix.length()) == '?');
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loads.forEach(load -> load.stale = true);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean isCached(String path) {
+        return Config.getBooleanProperty("cache.enabled") && endpoints().contains(EndpointLimits.endpoint(path));
+    }
+
+    private synchronized Entry lookup(Key key) {
+        return bypassDepth.get() > 0 ? null : entries.get(key);
+    }
+
+    private static boolean isFresh(Entry entry) {
+        return entry != null && System.nanoTime() - entry.storedAt
+                < TimeUnit.SECONDS.toNanos(Config.getIntProperty("cache.ttl.seconds", 30));
+    }
+
+    private synchronized Load startLoad(Key key) {
+        var load = new Load(key);
+        loads.add(load);
+        return load;
+    }
+
+    private synchronized void endLoad(Load load) {
+        loads.remove(load);
+    }
+
+    /**
+     * Stores the response of a load, or the revalidated entry on a 304; returns what the caller gets.
+     */
+    private Response store(Load load, Entry entry, Response response) {
+        if (entry != null && entry.etag != null && response.getStatusCode() == SC_NOT_MODIFIED) {
+            revalidations.incrementAndGet();
+            put(load, entry.response);
+            return entry.copy();
+        }
+        misses.incrementAndGet();
+        if (response.getStatusCode() == SC_OK) {
+            put(load, response);
+        } else {
+            synchronized (this) {
+                entries.remove(load.key);
+            }
+        }
+        return response;
+    }
+
+    private synchronized void put(Load load, Response response) {
+        if (!load.stale) {
+            entries.put(load.key, new Entry(response, response.getHeader("ETag"), System.nanoTime()));
+        }
+    }
+
+    /**
+     * A GET in flight; marked stale when its key is invalidated before the response arrives. Compared by
+     * identity, concurrent loads of one key are tracked separately.
+     */
+    private static class Load {
+        private final Key key;
+        // guarded by the cache
+        private boolean stale;
+
+        private Load(Key key) {
+            this.key = key;
+        }
+    }
+
+    private record Entry(Response response, String etag, long storedAt) {
+        /**
+         * A response of its own for every caller, responses are not meant to be shared between threads.
+         */
+        private Response copy() {
+            return new ResponseBuilder().clone(response).build();
+        }
+    }
+
+    private record Key(Object spec, String path) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && spec == key.spec && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(spec) + path.hashCode();
+        }
+    }
+
+    private Set<String> endpoints() {
+        var text = Optional.ofNullable(Config.getProperty("cache.endpoints")).orElse("");
+        var current = endpoints;
+        if (!current.text().equals(text)) {
+            current = new Endpoints(text);
+            endpoints = current;
+        }
+        return current.names();
+    }
+
+    private record Endpoints(String text, Set<String> names) {
+        private Endpoints(String text) {
+            this(text, Arrays.stream(text.split(","))
+                    .map(String::trim)
+                    .filter(endpoint -> !endpoint.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
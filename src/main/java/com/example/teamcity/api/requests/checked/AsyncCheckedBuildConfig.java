@@ -0,0 +1,49 @@
+package com.example.teamcity.api.requests.checked;
+
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedBuildConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncCheckedBuildConfig extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncCheckedBuildConfig(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncCheckedBuildConfig(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<BuildType> create(Object object) {
+        return new AsyncUncheckedBuildConfig(spec, executor)
+                .create(object)
+                .thenApply(response -> response.then().assertThat().statusCode(HttpStatus.SC_OK)
+                        .extract().as(BuildType.class, JsonMapper.getMapper()));
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String id) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> delete(String id) {
+        return new AsyncUncheckedBuildConfig(spec, executor)
+                .delete(id)
+                .thenApply(response -> response.then().assertThat().statusCode(HttpStatus.SC_NO_CONTENT)
+                        .extract().asString());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.teamcity.api.requests.checked;
+
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedProject;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.apache.http.HttpStatus.SC_OK;
+
+public class AsyncCheckedProject extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncCheckedProject(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncCheckedProject(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<Project> create(Object object) {
+        return new AsyncUncheckedProject(spec, executor)
+                .create(object)
+                .thenApply(response -> response.then().assertThat().statusCode(SC_OK)
+                        .extract().as(Project.class, JsonMapper.getMapper()));
+    }
+
+    @Override
+    public CompletableFuture<Project> get(String id) {
+        return new AsyncUncheckedProject(spec, executor)
+                .get(id)
+                .thenApply(response -> response.then().assertThat().statusCode(SC_OK)
+                        .extract().as(Project.class, JsonMapper.getMapper()));
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> delete(String id) {
+        return new AsyncUncheckedProject(spec, executor)
+                .delete(id)
+                .thenApply(response -> response.then().assertThat().statusCode(SC_OK)
+                        .extract().asString());
+    }
+}
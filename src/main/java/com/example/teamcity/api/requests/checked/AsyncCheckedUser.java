@@ -0,0 +1,51 @@
+package com.example.teamcity.api.requests.checked;
+
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import com.example.teamcity.api.requests.unchecked.AsyncUncheckedUser;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.apache.http.HttpStatus.SC_OK;
+
+public class AsyncCheckedUser extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncCheckedUser(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncCheckedUser(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<User> create(Object object) {
+        return new AsyncUncheckedUser(spec, executor)
+                .create(object)
+                .thenApply(response -> response.then().assertThat().statusCode(SC_OK)
+                        .extract().as(User.class, JsonMapper.getMapper()));
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String id) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> delete(String id) {
+        return new AsyncUncheckedUser(spec, executor)
+                .delete(id)
+                .thenApply(response -> response.then().assertThat().statusCode(HttpStatus.SC_NO_CONTENT)
+                        .extract().asString());
+    }
+}
@@ -1,21 +1,29 @@
 package com.example.teamcity.api.requests.checked;
 
+import com.example.teamcity.api.auth.AuthSessions;
 import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.requests.Request;
 import com.example.teamcity.api.spec.Specifications;
-import io.restassured.RestAssured;
+import io.restassured.http.Method;
 import org.apache.http.HttpStatus;
 
-public class AuthRequest {
+public class AuthRequest extends Request {
     private User user;
     public AuthRequest(User user){
+        super(Specifications.getSpec().authSpec(user));
         this.user = user;
     }
 
+    /**
+     * CSRF token of the user's current session, fetched once and cached until it expires.
+     */
     public String getCsrftoken() {
-        return RestAssured
-                .given()
-                .spec(Specifications.getSpec().authSpec(user))
-                .get("/authenticationTest.html?csrf")
+        return AuthSessions.getSessions().get(AuthSessions.principal(user.getUsername(), user.getPassword()))
+                .csrfToken(this::fetchCsrfToken);
+    }
+
+    public String fetchCsrfToken() {
+        return send(Method.GET, "/authenticationTest.html?csrf")
                 .then().assertThat().statusCode(HttpStatus.SC_OK)
                 .extract().asString();
     }
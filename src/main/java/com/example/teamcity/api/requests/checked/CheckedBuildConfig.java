@@ -1,5 +1,7 @@
 package com.example.teamcity.api.requests.checked;
 
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.json.JsonProjection;
 import com.example.teamcity.api.models.BuildType;
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
@@ -17,7 +19,16 @@ public class CheckedBuildConfig extends Request implements CrudInterface {
     public BuildType create(Object object) {
         return new UncheckedBuildConfig(spec).create(object)
                 .then().assertThat().statusCode(HttpStatus.SC_OK)
-                .extract().as(BuildType.class);
+                .extract().as(BuildType.class, JsonMapper.getMapper());
+    }
+
+    /**
+     * Like {@link #create(Object)}, but reads only the given fields (dotted paths) from the response.
+     */
+    public JsonProjection createAndExtract(Object object, String... fields) {
+        return JsonProjection.read(new UncheckedBuildConfig(spec).create(object)
+                .then().assertThat().statusCode(HttpStatus.SC_OK)
+                .extract().asByteArray(), fields);
     }
 
     @Override
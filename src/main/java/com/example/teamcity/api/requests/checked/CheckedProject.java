@@ -1,5 +1,7 @@
 package com.example.teamcity.api.requests.checked;
 
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.json.JsonProjection;
 import com.example.teamcity.api.models.Project;
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
@@ -19,7 +21,7 @@ public class CheckedProject extends Request implements CrudInterface {
         return new UncheckedProject(spec)
                 .create(object)
                 .then().assertThat().statusCode(SC_OK)
-                .extract().as(Project.class);
+                .extract().as(Project.class, JsonMapper.getMapper());
     }
 
     @Override
@@ -27,7 +29,24 @@ public class CheckedProject extends Request implements CrudInterface {
         return new UncheckedProject(spec)
                 .get(id)
                 .then().assertThat().statusCode(SC_OK)
-                .extract().as(Project.class);
+                .extract().as(Project.class, JsonMapper.getMapper());
+    }
+
+    /**
+     * Like {@link #create(Object)}, but reads only the given fields (dotted paths) from the response.
+     */
+    public JsonProjection createAndExtract(Object object, String... fields) {
+        return JsonProjection.read(new UncheckedProject(spec)
+                .create(object)
+                .then().assertThat().statusCode(SC_OK)
+                .extract().asByteArray(), fields);
+    }
+
+    public JsonProjection getAndExtract(String id, String... fields) {
+        return JsonProjection.read(new UncheckedProject(spec)
+                .get(id)
+                .then().assertThat().statusCode(SC_OK)
+                .extract().asByteArray(), fields);
     }
 
     @Override
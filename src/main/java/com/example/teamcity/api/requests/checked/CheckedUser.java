@@ -1,5 +1,6 @@
 package com.example.teamcity.api.requests.checked;
 
+import com.example.teamcity.api.json.JsonMapper;
 import com.example.teamcity.api.models.User;
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
@@ -20,7 +21,7 @@ public class CheckedUser extends Request implements CrudInterface {
         return new UncheckedUser(spec)
                 .create(object)
                 .then().assertThat().statusCode(SC_OK)
-                .extract().as(User.class);
+                .extract().as(User.class, JsonMapper.getMapper());
     }
 
     @Override
@@ -0,0 +1,149 @@
+package com.example.teamcity.api.requests.coalesce;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.requests.cache.ResponseCache;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for safe requests, on with {@code coalesce.enabled = true}: while a GET or HEAD for a spec
+ * (i.e. principal), path and If-None-Match value is in flight, identical requests from other threads wait for it
+ * and get a copy of its response, or its failure, instead of sending their own. Modifying requests are never
+ * coalesced, even idempotent ones: two concurrent DELETEs must still see two server answers. A finished write
+ * detaches the flights it may have changed, so GETs sent after it are not answered with an earlier read.
+ */
+public class RequestCoalescer {
+    private static final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final Map<Key, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong saved = new AtomicLong();
+
+    private RequestCoalescer() {}
+
+    public static RequestCoalescer getCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * @param spec identity of the principal; compared by reference
+     */
+    public Response execute(Object spec, Method method, String path, String etag, Supplier<Response> call) {
+        if (!Config.getBooleanProperty("coalesce.enabled") || (method != Method.GET && method != Method.HEAD)) {
+            return call.get();
+        }
+        var key = new Key(spec, method, path, etag);
+        var flight = new CompletableFuture<Response>();
+        var leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            saved.incrementAndGet();
+            return await(leader);
+        }
+        sent.incrementAndGet();
+        try {
+            var response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Like {@link #execute}, for a {@code call} that completes later; followers get a future of a copy.
+     */
+    public CompletableFuture<Response> executeAsync(Object spec, Method method, String path, String etag,
+                                                    Supplier<CompletableFuture<Response>> call) {
+        if (!Config.getBooleanProperty("coalesce.enabled") || (method != Method.GET && method != Method.HEAD)) {
+            return call.get();
+        }
+        var key = new Key(spec, method, path, etag);
+        var flight = new CompletableFuture<Response>();
+        var leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            saved.incrementAndGet();
+            return leader.thenApply(response -> new ResponseBuilder().clone(response).build());
+        }
+        sent.incrementAndGet();
+        CompletableFuture<Response> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        return response.whenComplete((result, failure) -> {
+            inFlight.remove(key, flight);
+            if (failure != null) {
+                flight.completeExceptionally(failure);
+            } else {
+                flight.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Lets the flights affected by a {@code method} request on {@code path} finish for the callers already waiting,
+     * but makes later identical requests start their own.
+     */
+    public void invalidate(Method method, String path) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        var affected = ResponseCache.affectedBy(method, path);
+        inFlight.keySet().removeIf(key -> affected.test(key.path));
+    }
+
+    /**
+     * Requests that went to the server through the coalescer.
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Requests answered with the response of an identical request in flight.
+     */
+    public long getSaved() {
+        return saved.get();
+    }
+
+    private static Response await(CompletableFuture<Response> leader) {
+        try {
+            // every caller gets a response of its own, responses are not meant to be shared between threads
+            return new ResponseBuilder().clone(leader.join()).build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private record Key(Object spec, Method method, String path, String etag) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && spec == key.spec && method == key.method && path.equals(key.path)
+                    && (etag == null ? key.etag == null : etag.equals(key.etag));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(spec) + method.hashCode()) + path.hashCode();
+        }
+    }
+}
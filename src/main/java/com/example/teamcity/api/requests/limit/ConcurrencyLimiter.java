@@ -0,0 +1,70 @@
+package com.example.teamcity.api.requests.limit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on requests in flight. A successful response grows the limit by {@code 1 / limit}, that is by one per
+ * window of responses, but only while at least half of the limit is in use; an idle client has not shown that a
+ * higher limit works. An overload signal (429, 503, an I/O error or a response slower than the latency threshold)
+ * multiplies it by the backoff ratio at most once per window: the other overloaded responses of that window were
+ * sent under the old limit. Callers over the limit wait until a request completes.
+ */
+public class ConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long completed;
+    private long nextDecreaseAt;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    public void acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                released.awaitUninterruptibly();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(boolean overloaded) {
+        lock.lock();
+        try {
+            var used = inFlight--;
+            completed++;
+            if (overloaded) {
+                if (completed >= nextDecreaseAt) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    nextDecreaseAt = completed + (int) limit;
+                }
+            } else if (limit < maxLimit && 2 * used >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.teamcity.api.requests.limit;
+
+import com.example.teamcity.api.config.Config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.http.HttpStatus.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * Rate and concurrency limits shared by all threads, one pair per REST resource ({@code projects},
+ * {@code buildTypes}, {@code users}, ...). Every {@code limit.*} setting can be overridden for a resource with
+ * {@code limit.<resource>.*}; a rate of 0 means unlimited. A config reload starts all limits over from the new
+ * settings.
+ */
+public class EndpointLimits {
+    private static final String REST_PREFIX = "/app/rest/";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final Map<String, EndpointLimits> limits = new ConcurrentHashMap<>();
+
+    static {
+        // requests in flight release the instance they acquired, so dropping it is safe
+        Config.onReload(limits::clear);
+    }
+
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final String endpoint;
+
+    private EndpointLimits(String endpoint) {
+        this.endpoint = endpoint;
+        var rate = Config.getDoubleProperty(key(endpoint, "rate"),
+                Config.getDoubleProperty("limit.rate", 0));
+        this.rateLimiter = rate > 0
+                ? new RateLimiter(rate, intProperty(endpoint, "burst", 1))
+                : null;
+        this.concurrencyLimiter = new ConcurrencyLimiter(
+                intProperty(endpoint, "concurrency.initial", 20),
+                intProperty(endpoint, "concurrency.min", 1),
+                intProperty(endpoint, "concurrency.max", 200),
+                Config.getDoubleProperty(key(endpoint, "backoff.ratio"),
+                        Config.getDoubleProperty("limit.backoff.ratio", 0.9)));
+    }
+
+    /**
+     * Limits for the resource a request path belongs to, or {@code null} when {@code limit.enabled} is off.
+     */
+    public static EndpointLimits forPath(String path) {
+        return Config.getBooleanProperty("limit.enabled") ? limits.computeIfAbsent(endpoint(path), EndpointLimits::new) : null;
+    }
+
+    public static String endpoint(String path) {
+        var resource = path.startsWith(REST_PREFIX) ? path.substring(REST_PREFIX.length()) : path.replaceFirst("^/", "");
+        var end = resource.indexOf('/');
+        end = end < 0 ? resource.indexOf('?') : end;
+        return end < 0 ? resource : resource.substring(0, end);
+    }
+
+    public void acquire() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        concurrencyLimiter.acquire();
+    }
+
+    /**
+     * @param statusCode response status, or -1 when the request failed without a response
+     */
+    public void release(int statusCode, long latencyNanos) {
+        concurrencyLimiter.release(statusCode < 0
+                || statusCode == SC_TOO_MANY_REQUESTS
+                || statusCode == SC_SERVICE_UNAVAILABLE
+                || latencyNanos > TimeUnit.MILLISECONDS.toNanos(intProperty(endpoint, "latency.threshold.ms", 5000)));
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
+    private static String key(String endpoint, String name) {
+        return "limit." + endpoint + "." + name;
+    }
+
+    private static int intProperty(String endpoint, String name, int defaultValue) {
+        return Config.getIntProperty(key(endpoint, name), Config.getIntProperty("limit." + name, defaultValue));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.teamcity.api.requests.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket without a refill thread: every caller reserves the next free send slot with a CAS and parks
+ * until it comes. Slots left unused while idle are kept up to {@code burst} requests.
+ */
+public class RateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(burst - 1, 0);
+    }
+
+    public void acquire() {
+        long now;
+        long slot;
+        while (true) {
+            var next = nextSlot.get();
+            now = System.nanoTime();
+            slot = Math.max(next, now - burstNanos);
+            if (nextSlot.compareAndSet(next, slot + intervalNanos)) {
+                break;
+            }
+        }
+        long delay;
+        while ((delay = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.teamcity.api.requests.retry;
+
+/**
+ * Caps retries to a share of the traffic: every first attempt deposits {@code ratio} of a token, every retry
+ * withdraws a whole one. The balance starts at and never exceeds {@code reserve}, so a short burst of failures
+ * is retried while a server that keeps failing is not hit with extra load.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double reserve;
+    private double balance;
+
+    public RetryBudget(double ratio, int reserve) {
+        this.ratio = ratio;
+        this.reserve = reserve;
+        this.balance = reserve;
+    }
+
+    public synchronized void deposit() {
+        balance = Math.min(reserve, balance + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (balance < 1) {
+            return false;
+        }
+        balance--;
+        return true;
+    }
+}
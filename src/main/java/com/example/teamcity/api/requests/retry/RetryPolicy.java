@@ -0,0 +1,113 @@
+package com.example.teamcity.api.requests.retry;
+
+import com.example.teamcity.api.config.Config;
+import io.restassured.http.Method;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * When and how long to wait before sending a request again. Only I/O errors and the statuses in
+ * {@code retry.statuses} are retried; TeamCity answers invalid input with 500, which is not transient.
+ * Delays grow exponentially from {@code retry.base.delay.ms} up to {@code retry.max.delay.ms} with full jitter,
+ * and never undercut a Retry-After header; a Retry-After above {@code retry.max.retry.after.seconds} is not waited
+ * for, the response is returned instead. All requests share one {@link RetryBudget}.
+ */
+public class RetryPolicy {
+    private static final RetryPolicy retryPolicy = new RetryPolicy();
+    private static final Set<Method> IDEMPOTENT = Set.of(Method.GET, Method.HEAD, Method.OPTIONS, Method.PUT,
+            Method.DELETE);
+    private static final String DEFAULT_STATUSES = "429,502,503,504";
+    // settings are read on every use; the parsed statuses are kept as long as the setting is unchanged
+    private volatile Statuses statuses = new Statuses(DEFAULT_STATUSES);
+    private final RetryBudget budget = new RetryBudget(Config.getDoubleProperty("retry.budget.ratio", 0.1),
+            Config.getIntProperty("retry.budget.reserve", 10));
+
+    private RetryPolicy() {}
+
+    public static RetryPolicy getPolicy() {
+        return retryPolicy;
+    }
+
+    public static boolean isIdempotent(Method method) {
+        return IDEMPOTENT.contains(method);
+    }
+
+    public boolean isRetryable(int statusCode) {
+        var text = Optional.ofNullable(Config.getProperty("retry.statuses")).orElse(DEFAULT_STATUSES);
+        var current = statuses;
+        if (!current.text().equals(text)) {
+            current = new Statuses(text);
+            statuses = current;
+        }
+        return current.codes().contains(statusCode);
+    }
+
+    /**
+     * Whether a failed send may be retried at all: I/O failures, which RestAssured rethrows undeclared and the JDK
+     * transport wraps in {@link UncheckedIOException}. Anything else is a bug or a mapping failure.
+     */
+    public static boolean isTransportError(Exception e) {
+        return e instanceof IOException || e instanceof UncheckedIOException;
+    }
+
+    /**
+     * Whether a Retry-After header, if any, asks for a wait short enough to retry after.
+     */
+    public boolean acceptsRetryAfter(String retryAfter) {
+        return retryAfter == null || !retryAfter.trim().matches("\\d+")
+                || Long.parseLong(retryAfter.trim()) <= Config.getIntProperty("retry.max.retry.after.seconds", 30);
+    }
+
+    public void onFirstAttempt() {
+        budget.deposit();
+    }
+
+    /**
+     * Whether attempt number {@code attempt} (1-based) may be followed by another one; takes a token from the
+     * budget when it may.
+     */
+    public boolean canRetry(int attempt) {
+        return attempt < Config.getIntProperty("retry.max.attempts", 3) && budget.tryWithdraw();
+    }
+
+    public void backoff(int attempt, String retryAfter) {
+        try {
+            Thread.sleep(backoffMillis(attempt, retryAfter));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The wait before the attempt after {@code attempt}: full jitter on an exponential ceiling, at least the
+     * Retry-After if there is one.
+     */
+    public long backoffMillis(int attempt, String retryAfter) {
+        long baseDelayMillis = Config.getIntProperty("retry.base.delay.ms", 100);
+        long maxDelayMillis = Config.getIntProperty("retry.max.delay.ms", 2000);
+        var ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        var delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (retryAfter != null && retryAfter.trim().matches("\\d+")) {
+            delay = Math.max(delay, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+        }
+        return delay;
+    }
+
+    private record Statuses(String text, Set<Integer> codes) {
+        private Statuses(String text) {
+            this(text, Arrays.stream(text.split(","))
+                    .map(String::trim)
+                    .filter(status -> !status.isEmpty())
+                    .map(Integer::parseInt)
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.teamcity.api.requests.transport;
+
+import com.example.teamcity.api.auth.AuthFilter;
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.metrics.RequestMetrics;
+import com.example.teamcity.api.spec.RequestLogFilter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends requests with one shared JDK {@link HttpClient}: HTTP/2 where the server offers it (requests to a host
+ * are multiplexed over one connection), HTTP/1.1 keep-alive otherwise, without RestAssured's request building.
+ * Of the spec it uses the base URI and headers, and of its filters the {@link AuthFilter} and
+ * {@link RequestLogFilter}; every exchange is recorded in {@link RequestMetrics} like the metrics filter does.
+ * {@link #send} records and logs on the calling thread, so the exchange lands in the test's {@code RequestLog};
+ * {@link #sendAsync} does it on completion, on a client thread, which keeps no request log. Only fetching a
+ * missing CSRF token blocks the caller, so {@code sendAsync} leaves the executor it is given unused.
+ */
+public class JdkHttpTransport implements Transport {
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.valueOf(Optional.ofNullable(Config.getProperty("transport.jdk.version"))
+                    .orElse(HttpClient.Version.HTTP_2.name()).trim()))
+            .connectTimeout(Duration.ofSeconds(Config.getIntProperty("transport.jdk.connect.timeout.seconds", 10)))
+            .build();
+    private final Duration timeout = Duration.ofSeconds(Config.getIntProperty("transport.jdk.timeout.seconds", 60));
+
+    @Override
+    public Response send(RequestSpecification spec, Method method, String path, Object body,
+                         Map<String, String> headers) {
+        var exchange = start(spec, method, path, body, headers);
+        try {
+            return exchange.record(exchange.response().join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(RequestSpecification spec, Method method, String path, Object body,
+                                                 Map<String, String> headers, Executor executor) {
+        var exchange = start(spec, method, path, body, headers);
+        return exchange.response().thenApply(exchange::record);
+    }
+
+    private Exchange start(RequestSpecification spec, Method method, String path, Object body,
+                           Map<String, String> headers) {
+        var filterableSpec = (FilterableRequestSpecification) spec;
+        var uri = uri(filterableSpec, path);
+        var payload = body == null ? null : body instanceof String text ? text
+                : JsonMapper.getMapper().getGson().toJson(body);
+        AuthFilter authFilter = null;
+        RequestLogFilter logFilter = null;
+        for (var filter : filterableSpec.getDefinedFilters()) {
+            if (filter instanceof AuthFilter auth) {
+                authFilter = auth;
+            } else if (filter instanceof RequestLogFilter log) {
+                logFilter = log;
+            }
+        }
+
+        var start = System.nanoTime();
+        var response = authFilter == null
+                ? exchange(filterableSpec, method, uri, payload, headers, Map.of())
+                : authFilter.authenticate(method.name(),
+                        authHeaders -> exchange(filterableSpec, method, uri, payload, headers, authHeaders));
+        return new Exchange(method, uri, payload, logFilter, start, response);
+    }
+
+    private CompletableFuture<Response> exchange(FilterableRequestSpecification spec, Method method, URI uri,
+                                                 String payload, Map<String, String> headers,
+                                                 Map<String, String> authHeaders) {
+        var request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method.name(), payload == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(payload));
+        spec.getHeaders().forEach(header -> request.header(header.getName(), header.getValue()));
+        headers.forEach(request::header);
+        authHeaders.forEach(request::header);
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(JdkHttpTransport::toResponse);
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> httpResponse) {
+        var headers = new ArrayList<Header>();
+        var cookies = new ArrayList<Cookie>();
+        httpResponse.headers().map().forEach((name, values) -> values.forEach(value -> {
+            headers.add(new Header(name, value));
+            if ("Set-Cookie".equalsIgnoreCase(name)) {
+                HttpCookie.parse(value).forEach(cookie ->
+                        cookies.add(new Cookie.Builder(cookie.getName(), cookie.getValue()).build()));
+            }
+        }));
+        var builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine((httpResponse.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ")
+                        + httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setCookies(new Cookies(cookies))
+                .setBody(httpResponse.body());
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        // built responses get the default config, not the spec's: bodies are mapped with JsonMapper explicitly
+        return builder.build();
+    }
+
+    private static URI uri(FilterableRequestSpecification spec, String path) {
+        var queryStart = path.indexOf('?');
+        var base = URI.create(spec.getBaseUri());
+        try {
+            return new URI(base.getScheme(), base.getRawAuthority(),
+                    base.getPath() + spec.getBasePath() + (queryStart < 0 ? path : path.substring(0, queryStart)),
+                    queryStart < 0 ? null : path.substring(queryStart + 1), null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid request path " + path, e);
+        }
+    }
+
+    private record Exchange(Method method, URI uri, String payload, RequestLogFilter log, long start,
+                            CompletableFuture<Response> response) {
+        private Response record(Response result) {
+            RequestMetrics.getMetrics().record(method.name(), uri.getPath(), result.getStatusCode(),
+                    System.nanoTime() - start);
+            if (log != null) {
+                log.log(method.name(), uri.toString(), payload, result);
+            }
+            return result;
+        }
+    }
+}
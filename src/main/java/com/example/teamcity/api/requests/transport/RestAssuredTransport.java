@@ -0,0 +1,25 @@
+package com.example.teamcity.api.requests.transport;
+
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+public class RestAssuredTransport implements Transport {
+
+    @Override
+    public Response send(RequestSpecification spec, Method method, String path, Object body,
+                         Map<String, String> headers) {
+        var request = given().spec(spec);
+        if (body != null) {
+            request.body(body);
+        }
+        if (!headers.isEmpty()) {
+            request.headers(headers);
+        }
+        return request.request(method, path);
+    }
+}
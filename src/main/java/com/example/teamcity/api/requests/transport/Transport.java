@@ -0,0 +1,30 @@
+package com.example.teamcity.api.requests.transport;
+
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends one request of a {@link com.example.teamcity.api.requests.Request}. The spec describes the principal:
+ * base URI, headers and filters (authentication, logging, metrics); implementations either run it through
+ * RestAssured or honour the same parts themselves. Responses are RestAssured responses either way, so
+ * {@code then()} assertions work the same; built responses don't carry the spec's config, so bodies are mapped
+ * with {@code as(type, JsonMapper.getMapper())}.
+ */
+public interface Transport {
+
+    Response send(RequestSpecification spec, Method method, String path, Object body, Map<String, String> headers);
+
+    /**
+     * Sends without blocking the caller. Blocking work runs on {@code executor}: by default the whole of
+     * {@link #send}, transports with non-blocking I/O need none.
+     */
+    default CompletableFuture<Response> sendAsync(RequestSpecification spec, Method method, String path, Object body,
+                                                  Map<String, String> headers, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> send(spec, method, path, body, headers), executor);
+    }
+}
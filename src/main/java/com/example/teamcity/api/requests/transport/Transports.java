@@ -0,0 +1,26 @@
+package com.example.teamcity.api.requests.transport;
+
+import com.example.teamcity.api.config.Config;
+
+/**
+ * The transport every request is sent with, chosen by {@code transport}: {@code restassured} (default) or
+ * {@code jdk} for the leaner {@link JdkHttpTransport}, e.g. in load and fixture-heavy runs.
+ */
+public class Transports {
+    private static final Transport transport = createTransport();
+
+    private Transports() {}
+
+    public static Transport getTransport() {
+        return transport;
+    }
+
+    private static Transport createTransport() {
+        var name = Config.getProperty("transport");
+        return switch (name == null ? "" : name.trim().toLowerCase()) {
+            case "", "restassured" -> new RestAssuredTransport();
+            case "jdk" -> new JdkHttpTransport();
+            default -> throw new IllegalStateException("Unknown transport " + name);
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.teamcity.api.requests.unchecked;
+
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncUncheckedBuildConfig extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncUncheckedBuildConfig(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncUncheckedBuildConfig(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<Response> create(Object object) {
+        return sendAsync(Method.POST, UncheckedBuildConfig.BUILD_CONFIG_ENDPOINT, object);
+    }
+
+    @Override
+    public CompletableFuture<Response> get(String id) {
+        return sendAsync(Method.GET, UncheckedBuildConfig.BUILD_CONFIG_ENDPOINT + "/id:" + id);
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Response> delete(String id) {
+        return sendAsync(Method.DELETE, UncheckedBuildConfig.BUILD_CONFIG_ENDPOINT + "/id:" + id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.teamcity.api.requests.unchecked;
+
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncUncheckedProject extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncUncheckedProject(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncUncheckedProject(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<Response> create(Object object) {
+        return sendAsync(Method.POST, UncheckedProject.PROJECT_ENDPOINT, object,
+                object instanceof NewProjectDescription project && project.getId() != null
+                        ? () -> get(project.getId()) : null);
+    }
+
+    @Override
+    public CompletableFuture<Response> get(String id) {
+        return sendAsync(Method.GET, UncheckedProject.PROJECT_ENDPOINT + "/id:" + id);
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Response> delete(String id) {
+        return sendAsync(Method.DELETE, UncheckedProject.PROJECT_ENDPOINT + "/id:" + id);
+    }
+}
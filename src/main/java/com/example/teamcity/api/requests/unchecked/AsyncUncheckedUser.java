@@ -0,0 +1,41 @@
+package com.example.teamcity.api.requests.unchecked;
+
+import com.example.teamcity.api.requests.AsyncCrudInterface;
+import com.example.teamcity.api.requests.AsyncRequest;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncUncheckedUser extends AsyncRequest implements AsyncCrudInterface {
+
+    public AsyncUncheckedUser(RequestSpecification spec) {
+        super(spec);
+    }
+
+    public AsyncUncheckedUser(RequestSpecification spec, Executor executor) {
+        super(spec, executor);
+    }
+
+    @Override
+    public CompletableFuture<Response> create(Object object) {
+        return sendAsync(Method.POST, UncheckedUser.USER_ENDPOINT, object);
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String id) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Object> update(Object object) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Response> delete(String id) {
+        return sendAsync(Method.DELETE, UncheckedUser.USER_ENDPOINT + "/username:" + id);
+    }
+}
@@ -2,14 +2,13 @@ package com.example.teamcity.api.requests.unchecked;
 
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
-import static io.restassured.RestAssured.given;
-
 public class UncheckedBuildConfig extends Request implements CrudInterface {
 
-    private static final String BUILD_CONFIG_ENDPOINT = "/app/rest/buildTypes";
+    static final String BUILD_CONFIG_ENDPOINT = "/app/rest/buildTypes";
 
     public UncheckedBuildConfig(RequestSpecification spec) {
         super(spec);
@@ -17,13 +16,12 @@ public class UncheckedBuildConfig extends Request implements CrudInterface {
 
     @Override
     public Response create(Object object) {
-        return given().spec(spec).body(object)
-                .post(BUILD_CONFIG_ENDPOINT);
+        return send(Method.POST, BUILD_CONFIG_ENDPOINT, object);
     }
 
     @Override
-    public Object get(String id) {
-        return null;
+    public Response get(String id) {
+        return send(Method.GET, BUILD_CONFIG_ENDPOINT + "/id:" + id);
     }
 
     @Override
@@ -33,7 +31,10 @@ public class UncheckedBuildConfig extends Request implements CrudInterface {
 
     @Override
     public Response delete(String id) {
-        return given().spec(spec)
-                .delete(BUILD_CONFIG_ENDPOINT + "/id:" + id);
+        return send(Method.DELETE, BUILD_CONFIG_ENDPOINT + "/id:" + id);
+    }
+
+    public Response list(String locator, String fields) {
+        return send(Method.GET, BUILD_CONFIG_ENDPOINT + "?locator=" + locator + "&fields=" + fields);
     }
 }
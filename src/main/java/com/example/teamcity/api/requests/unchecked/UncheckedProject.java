@@ -1,14 +1,14 @@
 package com.example.teamcity.api.requests.unchecked;
 
+import com.example.teamcity.api.models.NewProjectDescription;
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
-import static io.restassured.RestAssured.given;
-
 public class UncheckedProject extends Request implements CrudInterface {
-    private static final String PROJECT_ENDPOINT = "/app/rest/projects";
+    static final String PROJECT_ENDPOINT = "/app/rest/projects";
 
     public UncheckedProject(RequestSpecification spec) {
         super(spec);
@@ -16,15 +16,13 @@ public class UncheckedProject extends Request implements CrudInterface {
 
     @Override
     public Response create(Object object) {
-        return given()
-                .spec(spec)
-                .body(object)
-                .post(PROJECT_ENDPOINT);
+        return send(Method.POST, PROJECT_ENDPOINT, object, object instanceof NewProjectDescription project
+                && project.getId() != null ? () -> get(project.getId()) : null);
     }
 
     @Override
     public Response get(String id) {
-        return given().spec(spec).get(PROJECT_ENDPOINT + "/id:" + id);
+        return send(Method.GET, PROJECT_ENDPOINT + "/id:" + id);
     }
 
     @Override
@@ -34,8 +32,10 @@ public class UncheckedProject extends Request implements CrudInterface {
 
     @Override
     public Response delete(String id) {
-        return given()
-                .spec(spec)
-                .delete(PROJECT_ENDPOINT + "/id:" + id);
+        return send(Method.DELETE, PROJECT_ENDPOINT + "/id:" + id);
+    }
+
+    public Response list(String locator, String fields) {
+        return send(Method.GET, PROJECT_ENDPOINT + "?locator=" + locator + "&fields=" + fields);
     }
 }
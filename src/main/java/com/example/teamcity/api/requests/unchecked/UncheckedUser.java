@@ -2,14 +2,13 @@ package com.example.teamcity.api.requests.unchecked;
 
 import com.example.teamcity.api.requests.CrudInterface;
 import com.example.teamcity.api.requests.Request;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
-import static io.restassured.RestAssured.given;
-
 public class UncheckedUser extends Request implements CrudInterface {
 
-    private final static String USER_ENDPOINT = "/app/rest/users";
+    static final String USER_ENDPOINT = "/app/rest/users";
 
     public UncheckedUser(RequestSpecification spec) {
         super(spec);
@@ -17,10 +16,7 @@ public class UncheckedUser extends Request implements CrudInterface {
 
     @Override
     public Response create(Object object) {
-        return given()
-                .spec(spec)
-                .body(object)
-                .post(USER_ENDPOINT);
+        return send(Method.POST, USER_ENDPOINT, object);
     }
 
     @Override
@@ -35,7 +31,10 @@ public class UncheckedUser extends Request implements CrudInterface {
 
     @Override
     public Response delete(String username) {
-        return given().spec(spec)
-                .delete(USER_ENDPOINT + "/username:" + username);
+        return send(Method.DELETE, USER_ENDPOINT + "/username:" + username);
+    }
+
+    public Response list(String locator, String fields) {
+        return send(Method.GET, USER_ENDPOINT + "?locator=" + locator + "&fields=" + fields);
     }
 }
@@ -0,0 +1,74 @@
+package com.example.teamcity.api.spec;
+
+import com.example.teamcity.api.config.Config;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.client.protocol.RequestAddCookies;
+import org.apache.http.client.protocol.ResponseProcessCookies;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled, keep-alive HTTP client shared by every spec. RestAssured only accepts an AbstractHttpClient
+ * from its factory, hence the 4.x DefaultHttpClient/PoolingClientConnectionManager pair. Cookie handling is
+ * switched off on the client because it is shared between principals.
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+    private static final HttpClientPool pool = new HttpClientPool();
+    private final PoolingClientConnectionManager connectionManager;
+    private final HttpClientConfig httpClientConfig;
+
+    private HttpClientPool() {
+        var keepAliveMillis = TimeUnit.SECONDS.toMillis(Config.getIntProperty("http.pool.keep.alive.seconds", 60));
+        connectionManager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createSystemDefault(), keepAliveMillis, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(Config.getIntProperty("http.pool.max.total", 200));
+        connectionManager.setDefaultMaxPerRoute(Config.getIntProperty("http.pool.max.per.route", 50));
+
+        var httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.removeRequestInterceptorByClass(RequestAddCookies.class);
+        httpClient.removeResponseInterceptorByClass(ResponseProcessCookies.class);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            var serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        });
+        httpClientConfig = HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "http-client-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var idleSeconds = Config.getIntProperty("http.pool.idle.eviction.seconds", 30);
+        scheduler.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+        var statsInterval = Config.getIntProperty("http.pool.stats.interval.seconds", 0);
+        if (statsInterval > 0) {
+            scheduler.scheduleAtFixedRate(() -> System.out.println("HTTP connection pool " + getStats()),
+                    statsInterval, statsInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    public static HttpClientPool getPool() {
+        return pool;
+    }
+
+    public HttpClientConfig getHttpClientConfig() {
+        return httpClientConfig;
+    }
+
+    public PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+}
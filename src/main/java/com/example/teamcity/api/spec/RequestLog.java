@@ -0,0 +1,33 @@
+package com.example.teamcity.api.spec;
+
+/**
+ * Per-thread buffer of logged requests; a test opens it when it starts, drains it when it finishes and publishes
+ * it only on failure. Threads without an open buffer, e.g. cleanup, fixture and executor pools, log nothing, so
+ * nothing piles up where no test will ever drain it.
+ */
+public class RequestLog {
+    private static final ThreadLocal<StringBuilder> buffer = new ThreadLocal<>();
+
+    private RequestLog() {}
+
+    public static void open() {
+        buffer.set(new StringBuilder());
+    }
+
+    public static boolean isOpen() {
+        return buffer.get() != null;
+    }
+
+    public static void append(String entry) {
+        var log = buffer.get();
+        if (log != null) {
+            log.append(entry).append(System.lineSeparator());
+        }
+    }
+
+    public static String drain() {
+        var log = buffer.get();
+        buffer.remove();
+        return log == null ? "" : log.toString();
+    }
+}
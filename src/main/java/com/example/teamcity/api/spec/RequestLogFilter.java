@@ -0,0 +1,63 @@
+package com.example.teamcity.api.spec;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.enums.LogMode;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+
+/**
+ * Writes request/response pairs to the {@link RequestLog} according to {@code log.mode}: off, errors (status 400
+ * and above), sampled (errors plus a {@code log.sample.rate} share of the rest) or full. Bodies are cut at
+ * {@code log.body.max.chars}.
+ */
+public class RequestLogFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        var response = context.next(requestSpec, responseSpec);
+        log(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getBody(), response);
+        return response;
+    }
+
+    /**
+     * Logs an exchange that did not pass this filter, e.g. one sent by another transport.
+     */
+    public void log(String method, String uri, Object requestBody, Response response) {
+        if (RequestLog.isOpen() && shouldLog(response.getStatusCode())) {
+            RequestLog.append(method + " " + uri.replaceFirst("//[^/@]+@", "//")
+                    + System.lineSeparator() + truncate(String.valueOf(requestBody))
+                    + System.lineSeparator() + response.getStatusLine()
+                    + System.lineSeparator() + truncate(response.asString()));
+        }
+    }
+
+    private static LogMode mode() {
+        var mode = Config.getProperty("log.mode");
+        return mode == null || mode.isBlank() ? LogMode.ERRORS : LogMode.valueOf(mode.trim().toUpperCase());
+    }
+
+    private boolean shouldLog(int statusCode) {
+        return switch (mode()) {
+            case OFF -> false;
+            case ERRORS -> statusCode >= SC_BAD_REQUEST;
+            case SAMPLED -> statusCode >= SC_BAD_REQUEST
+                    || ThreadLocalRandom.current().nextDouble() < Config.getDoubleProperty("log.sample.rate", 0.1);
+            case FULL -> true;
+        };
+    }
+
+    private String truncate(String body) {
+        var maxBodyChars = Config.getIntProperty("log.body.max.chars", 2000);
+        return body.length() <= maxBodyChars
+                ? body
+                : body.substring(0, maxBodyChars) + "... (" + body.length() + " chars)";
+    }
+}
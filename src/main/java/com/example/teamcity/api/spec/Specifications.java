@@ -1,48 +1,96 @@
 package com.example.teamcity.api.spec;
 
+import com.example.teamcity.api.auth.AuthFilter;
 import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.metrics.MetricsFilter;
 import com.example.teamcity.api.models.User;
+import com.example.teamcity.api.requests.checked.AuthRequest;
+import com.example.teamcity.api.stub.TeamCityStub;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
-import org.apache.http.client.methods.RequestBuilder;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands out pre-built specs cached per principal (LRU, bounded by {@code spec.cache.size}).
+ * Cached specs are shared between threads and must not be mutated; {@code given().spec(spec)} copies them.
+ */
 public class Specifications {
 
-    private static Specifications spec;
-    private Specifications(){}
+    private static final Specifications spec = new Specifications();
+    private final RequestLogFilter requestLogFilter = new RequestLogFilter();
+    private final MetricsFilter metricsFilter = new MetricsFilter();
+    private final Map<String, RequestSpecification> specCache;
+
+    private Specifications(){
+        var cacheSize = Config.getIntProperty("spec.cache.size", 256);
+        specCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RequestSpecification> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        // host, token and auth settings are baked into the specs
+        Config.onReload(this::clearCache);
+    }
 
     public static Specifications getSpec() {
-        if (spec == null){
-            spec = new Specifications();
-        }
         return spec;
     }
+
     private RequestSpecBuilder reqBuilder() {
         var requestBuilder = new RequestSpecBuilder();
-        requestBuilder.setBaseUri("https://" + Config.getProperty("host"));
-        requestBuilder.addFilter(new RequestLoggingFilter());
-        requestBuilder.addFilter(new ResponseLoggingFilter());
+        requestBuilder.setBaseUri(Config.getBooleanProperty("stub.enabled")
+                ? "http://" + TeamCityStub.getStub().getAddress()
+                : "https://" + Config.getProperty("host"));
+        requestBuilder.setConfig(RestAssuredConfig.config()
+                .httpClient(HttpClientPool.getPool().getHttpClientConfig())
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(JsonMapper.getMapper())));
+        requestBuilder.addFilter(requestLogFilter);
+        requestBuilder.addFilter(metricsFilter);
+        // pooled connections go back to the pool only once the body is read, so never leave it unread
+        requestBuilder.addFilter((requestSpec, responseSpec, context) -> {
+            var response = context.next(requestSpec, responseSpec);
+            response.asByteArray();
+            return response;
+        });
         requestBuilder.setContentType(ContentType.JSON);
         requestBuilder.setAccept(ContentType.JSON);
         return requestBuilder;
     }
+
     public RequestSpecification unauthSpec() {
-        var requestBuilder = reqBuilder();
-        return requestBuilder.build();
+        return specCache.computeIfAbsent("unauth", key -> reqBuilder().build());
     }
 
     public RequestSpecification authSpec(User user) {
-        var requestBuilder = reqBuilder();
-        requestBuilder.setBaseUri("https://" + user.getUsername() + ":" + user.getPassword() + "@" + Config.getProperty("host"));
-        return requestBuilder.build();
+        return specCache.computeIfAbsent("user:" + user.getUsername() + ":" + user.getPassword(),
+                key -> reqBuilder().addFilter(basicAuth(user)).build());
     }
 
+    /**
+     * Authenticated with the {@code token} from the config when {@code auth.superuser = token}, as admin:admin
+     * otherwise.
+     */
     public RequestSpecification superUserSpec() {
-        var requestBuilder = reqBuilder();
-        requestBuilder.setBaseUri("https://admin:admin" + "@" + Config.getProperty("host"));
-        return  requestBuilder.build();
+        return specCache.computeIfAbsent("superuser", key -> reqBuilder().addFilter(
+                "token".equalsIgnoreCase(Config.getProperty("auth.superuser"))
+                        ? AuthFilter.bearer(Config.getProperty("token"))
+                        : basicAuth(User.builder().username("admin").password("admin").build())).build());
+    }
+
+    private static AuthFilter basicAuth(User user) {
+        return AuthFilter.basic(user.getUsername(), user.getPassword(), Config.getBooleanProperty("auth.session.reuse"),
+                () -> new AuthRequest(user).fetchCsrfToken());
+    }
+
+    public void clearCache() {
+        specCache.clear();
     }
 }
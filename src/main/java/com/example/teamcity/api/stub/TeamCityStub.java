@@ -0,0 +1,611 @@
+package com.example.teamcity.api.stub;
+
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.enums.Scope;
+import com.example.teamcity.api.json.JsonMapper;
+import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.models.Roles;
+import com.example.teamcity.api.models.User;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * In-memory stand-in for the TeamCity REST endpoints the framework uses: projects, users, build types and the
+ * CSRF token. Requests are authenticated with Basic auth, the {@code token} from the config as admin's bearer
+ * token, or the TCSESSIONID cookie issued on Basic login; modifying requests on a session must carry the user's
+ * CSRF token in X-TC-CSRF-Token. Requests are authorized by the roles and scopes from
+ * {@link Role}: SYSTEM_ADMIN manages everything, PROJECT_ADMIN manages its project and subprojects, every other
+ * role is read-only. Collections are listed by locator {@code start}, {@code count} and a name condition such as
+ * {@code name:(value:test_,matchType:starts-with)}; {@code fields} is ignored, entities come back whole. Enabled for the whole suite with {@code stub.enabled = true}.
+ */
+public class TeamCityStub {
+    private static final String ROOT_PROJECT = "_Root";
+    private static final int MAX_ID_LENGTH = 225;
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_]*");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("(?:^|;\\s*)TCSESSIONID=([^;]+)");
+    private static final List<String> SAFE_METHODS = List.of("GET", "HEAD", "OPTIONS");
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static TeamCityStub stub;
+
+    private final Gson gson = JsonMapper.getMapper().getGson();
+    private final Map<String, User> users = new LinkedHashMap<>();
+    private final Map<String, Project> projects = new LinkedHashMap<>();
+    private final Map<String, BuildType> buildTypes = new LinkedHashMap<>();
+    private final Map<String, String> csrfTokens = new LinkedHashMap<>();
+    private final Map<String, String> sessions = new LinkedHashMap<>();
+    private final HttpServer server;
+
+    private TeamCityStub(int port) throws IOException {
+        // without it every response with a body waits for the client's delayed ACK (Nagle)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        users.put("admin", User.builder()
+                .username("admin")
+                .password("admin")
+                .roles(Roles.builder()
+                        .role(List.of(com.example.teamcity.api.models.Role.builder()
+                                .roleId(Role.SYSTEM_ADMIN.getText())
+                                .scope(Scope.GLOBAL.getText())
+                                .build()))
+                        .build())
+                .build());
+        projects.put(ROOT_PROJECT, Project.builder().id(ROOT_PROJECT).name("<Root project>").build());
+
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "teamcity-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/app/rest/projects", exchange -> handle(exchange, this::projects));
+        server.createContext("/app/rest/buildTypes", exchange -> handle(exchange, this::buildTypes));
+        server.createContext("/app/rest/users", exchange -> handle(exchange, this::users));
+        server.createContext("/authenticationTest.html", exchange -> handle(exchange, this::csrf));
+    }
+
+    public static synchronized TeamCityStub getStub() {
+        if (stub == null) {
+            try {
+                stub = new TeamCityStub(Config.getIntProperty("stub.port", 0));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            // the dispatcher thread inherits the daemon flag, so the stub never keeps the JVM alive
+            var starter = new Thread(stub.server::start);
+            starter.setDaemon(true);
+            starter.start();
+            try {
+                starter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return stub;
+    }
+
+    public String getAddress() {
+        return "localhost:" + server.getAddress().getPort();
+    }
+
+    private interface Handler {
+        StubResponse handle(String method, String locator, Map<String, String> query, String body, User user);
+    }
+
+    private record StubResponse(int status, String body) {
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        StubResponse response;
+        var authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        var sessionId = sessionId(exchange.getRequestHeaders().getFirst("Cookie"));
+        var user = authorization != null ? authenticate(authorization) : sessionUser(sessionId);
+        if (user != null && authorization != null && authorization.startsWith("Basic ")
+                && sessionUser(sessionId) == null) {
+            exchange.getResponseHeaders().add("Set-Cookie",
+                    "TCSESSIONID=" + newSession(user.getUsername()) + "; Path=/; HttpOnly");
+        }
+        if (user == null) {
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"TeamCity\"");
+            response = new StubResponse(SC_UNAUTHORIZED, "Authentication required");
+        } else if (authorization == null && !SAFE_METHODS.contains(exchange.getRequestMethod())
+                && !isValidCsrfToken(user, exchange.getRequestHeaders().getFirst("X-TC-CSRF-Token"))) {
+            response = new StubResponse(SC_FORBIDDEN,
+                    "CSRF Header X-TC-CSRF-Token does not match CSRF session value");
+        } else {
+            var path = exchange.getRequestURI().getPath();
+            var context = exchange.getHttpContext().getPath();
+            var locator = path.length() > context.length() + 1 ? path.substring(context.length() + 1) : null;
+            var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                synchronized (this) {
+                    response = handler.handle(exchange.getRequestMethod(), locator,
+                            query(exchange.getRequestURI().getRawQuery()), body, user);
+                }
+            } catch (JsonParseException e) {
+                response = new StubResponse(SC_BAD_REQUEST, "Error parsing request body: " + e.getMessage());
+            }
+        }
+        if (response.status() == SC_OK && "GET".equals(exchange.getRequestMethod()) && response.body() != null) {
+            var etag = "\"" + Integer.toHexString(response.body().hashCode()) + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                response = new StubResponse(SC_NOT_MODIFIED, null);
+            }
+        }
+        var bytes = response.body() == null ? new byte[0] : response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type",
+                response.body() != null && response.body().startsWith("{") ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private User authenticate(String authorization) {
+        if (authorization.equals("Bearer " + Config.getProperty("token"))) {
+            synchronized (this) {
+                return users.get("admin");
+            }
+        }
+        if (!authorization.startsWith("Basic ")) {
+            return null;
+        }
+        var credentials = new String(Base64.getDecoder().decode(authorization.substring("Basic ".length())),
+                StandardCharsets.UTF_8).split(":", 2);
+        synchronized (this) {
+            var user = users.get(credentials[0]);
+            return user != null && credentials.length == 2 && credentials[1].equals(user.getPassword()) ? user : null;
+        }
+    }
+
+    private static String sessionId(String cookie) {
+        if (cookie == null) {
+            return null;
+        }
+        var matcher = SESSION_COOKIE.matcher(cookie);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private synchronized User sessionUser(String sessionId) {
+        var username = sessionId == null ? null : sessions.get(sessionId);
+        return username == null ? null : users.get(username);
+    }
+
+    private synchronized String newSession(String username) {
+        var sessionId = UUID.randomUUID().toString().replace("-", "");
+        sessions.put(sessionId, username);
+        return sessionId;
+    }
+
+    private synchronized boolean isValidCsrfToken(User user, String token) {
+        return token != null && token.equals(csrfTokens.get(user.getUsername()));
+    }
+
+    private StubResponse projects(String method, String locator, Map<String, String> query, String body, User user) {
+        return switch (method) {
+            case "POST" -> createProject(gson.fromJson(body, NewProjectDescription.class), user);
+            case "GET" -> {
+                if (locator == null) {
+                    yield list("projects", "project", "name", query.get("locator"), projects.values(),
+                            Project::getName, TeamCityStub::projectJson);
+                }
+                var project = projects.get(id(locator));
+                yield project == null ? notFound("project", locator) : json(SC_OK, projectDetailsJson(project));
+            }
+            case "DELETE" -> {
+                var project = projects.get(id(locator));
+                if (project == null || ROOT_PROJECT.equals(project.getId())) {
+                    yield notFound("project", locator);
+                }
+                if (!isProjectAdmin(user, project.getId())) {
+                    yield forbidden("edit project");
+                }
+                deleteProject(project.getId());
+                yield new StubResponse(SC_NO_CONTENT, null);
+            }
+            default -> new StubResponse(SC_METHOD_NOT_ALLOWED, "Method not allowed");
+        };
+    }
+
+    private StubResponse createProject(NewProjectDescription description, User user) {
+        var parent = description.getParentProject();
+        String parentId = ROOT_PROJECT;
+        if (parent != null) {
+            parentId = parent.getId() != null ? parent.getId() : parent.getLocator();
+            if (parentId == null || parentId.isEmpty()) {
+                return new StubResponse(SC_BAD_REQUEST,
+                        "No project specified. Either 'id', 'internalId' or 'locator' attribute should be present.");
+            }
+            parentId = id(parentId);
+        }
+        if (!projects.containsKey(parentId)) {
+            return notFound("project", parentId);
+        }
+        if (!isProjectAdmin(user, parentId)) {
+            return forbidden("create subproject");
+        }
+        if (description.getName() == null || description.getName().isEmpty()) {
+            return new StubResponse(SC_BAD_REQUEST, "Project name cannot be empty.");
+        }
+        var finalParentId = parentId;
+        if (projects.values().stream().anyMatch(project -> finalParentId.equals(project.getParentProjectId())
+                && description.getName().equals(project.getName()))) {
+            return new StubResponse(SC_BAD_REQUEST, "Project with this name already exists: " + description.getName());
+        }
+        var id = description.getId() == null ? generateId(parentId, description.getName()) : description.getId();
+        var idError = validateId("Project", id);
+        if (idError != null) {
+            return idError;
+        }
+        if (projects.containsKey(id)) {
+            return new StubResponse(SC_BAD_REQUEST, "Project ID \"" + id + "\" is already used by another project");
+        }
+        var project = Project.builder().id(id).name(description.getName()).parentProjectId(parentId).build();
+        projects.put(id, project);
+        return json(SC_OK, projectJson(project));
+    }
+
+    private void deleteProject(String id) {
+        projects.values().stream()
+                .filter(project -> id.equals(project.getParentProjectId()))
+                .map(Project::getId)
+                .toList()
+                .forEach(this::deleteProject);
+        buildTypes.values().removeIf(buildType -> id.equals(buildType.getProject().getId()));
+        projects.remove(id);
+    }
+
+    private StubResponse buildTypes(String method, String locator, Map<String, String> query, String body,
+                                    User user) {
+        return switch (method) {
+            case "POST" -> createBuildType(gson.fromJson(body, BuildType.class), user);
+            case "GET" -> {
+                if (locator == null) {
+                    yield list("buildTypes", "buildType", "name", query.get("locator"), buildTypes.values(),
+                            BuildType::getName, TeamCityStub::buildTypeJson);
+                }
+                var buildType = buildTypes.get(id(locator));
+                yield buildType == null ? notFound("build type", locator) : json(SC_OK, buildTypeJson(buildType));
+            }
+            case "DELETE" -> {
+                var buildType = buildTypes.get(id(locator));
+                if (buildType == null) {
+                    yield notFound("build type", locator);
+                }
+                if (!isProjectAdmin(user, buildType.getProject().getId())) {
+                    yield forbidden("edit project");
+                }
+                buildTypes.remove(buildType.getId());
+                yield new StubResponse(SC_NO_CONTENT, null);
+            }
+            default -> new StubResponse(SC_METHOD_NOT_ALLOWED, "Method not allowed");
+        };
+    }
+
+    private StubResponse createBuildType(BuildType request, User user) {
+        if (request.getProject() == null) {
+            return new StubResponse(SC_BAD_REQUEST, "Build type creation request should contain project node.");
+        }
+        var project = projects.get(request.getProject().getId());
+        if (project == null) {
+            return notFound("project", request.getProject().getId());
+        }
+        if (!isProjectAdmin(user, project.getId())) {
+            return forbidden("edit project");
+        }
+        if (request.getName() == null || request.getName().isEmpty()) {
+            return new StubResponse(SC_BAD_REQUEST, "When creating a build type, non empty name should be provided.");
+        }
+        if (buildTypes.values().stream().anyMatch(buildType -> project.getId().equals(buildType.getProject().getId())
+                && request.getName().equals(buildType.getName()))) {
+            return new StubResponse(SC_BAD_REQUEST, "Build configuration with name \"" + request.getName()
+                    + "\" already exists in project: \"" + project.getName() + "\"");
+        }
+        var id = request.getId() == null ? generateId(project.getId(), request.getName()) : request.getId();
+        var idError = validateId("Build configuration or template", id);
+        if (idError != null) {
+            return idError;
+        }
+        if (buildTypes.containsKey(id)) {
+            return new StubResponse(SC_BAD_REQUEST, "The build configuration / template ID \"" + id
+                    + "\" is already used by another configuration or template");
+        }
+        var buildType = BuildType.builder()
+                .id(id)
+                .name(request.getName())
+                .project(NewProjectDescription.builder().id(project.getId()).name(project.getName()).build())
+                .parameters(request.getParameters())
+                .steps(request.getSteps())
+                .build();
+        buildTypes.put(id, buildType);
+        return json(SC_OK, buildTypeJson(buildType));
+    }
+
+    private StubResponse users(String method, String locator, Map<String, String> query, String body, User user) {
+        return switch (method) {
+            case "POST" -> {
+                if (!isSystemAdmin(user)) {
+                    yield forbidden("change users");
+                }
+                var newUser = gson.fromJson(body, User.class);
+                if (newUser.getUsername() == null || newUser.getUsername().isEmpty()) {
+                    yield new StubResponse(SC_BAD_REQUEST, "Username must not be empty when creating user.");
+                }
+                if (users.containsKey(newUser.getUsername())) {
+                    yield new StubResponse(SC_BAD_REQUEST,
+                            "Cannot create user as user with the same username already exists");
+                }
+                users.put(newUser.getUsername(), newUser);
+                yield json(SC_OK, userJson(newUser));
+            }
+            case "GET" -> {
+                if (locator == null) {
+                    yield list("users", "user", "username", query.get("locator"), users.values(),
+                            User::getUsername, TeamCityStub::userJson);
+                }
+                var found = users.get(username(locator));
+                yield found == null ? notFound("user", locator) : json(SC_OK, userJson(found));
+            }
+            case "DELETE" -> {
+                if (!isSystemAdmin(user)) {
+                    yield forbidden("change users");
+                }
+                var removed = users.remove(username(locator));
+                csrfTokens.remove(username(locator));
+                sessions.values().removeIf(username(locator)::equals);
+                yield removed == null ? notFound("user", locator) : new StubResponse(SC_NO_CONTENT, null);
+            }
+            default -> new StubResponse(SC_METHOD_NOT_ALLOWED, "Method not allowed");
+        };
+    }
+
+    private StubResponse csrf(String method, String locator, Map<String, String> query, String body, User user) {
+        return new StubResponse(SC_OK,
+                csrfTokens.computeIfAbsent(user.getUsername(), username -> UUID.randomUUID().toString()));
+    }
+
+    private <T> StubResponse list(String collection, String field, String nameDimension, String locator,
+                                  Collection<T> entities, Function<T, String> name, Function<T, Object> toJson) {
+        var dimensions = dimensions(locator);
+        var unsupported = dimensions.keySet().stream()
+                .filter(dimension -> !Set.of("start", "count", nameDimension).contains(dimension))
+                .toList();
+        if (!unsupported.isEmpty()) {
+            return new StubResponse(SC_BAD_REQUEST, "Locator dimensions " + unsupported + " are not supported.");
+        }
+        int start;
+        int count;
+        try {
+            start = Integer.parseInt(dimensions.getOrDefault("start", "0"));
+            count = Integer.parseInt(dimensions.getOrDefault("count", String.valueOf(DEFAULT_PAGE_SIZE)));
+        } catch (NumberFormatException e) {
+            return new StubResponse(SC_BAD_REQUEST, "Invalid start or count in locator '" + locator + "'.");
+        }
+        var condition = dimensions.get(nameDimension);
+        var matching = entities.stream()
+                .filter(entity -> condition == null || matches(condition, name.apply(entity)))
+                .toList();
+        var page = matching.subList(Math.min(start, matching.size()), Math.min(start + count, matching.size()));
+        var json = new LinkedHashMap<String, Object>();
+        json.put("count", page.size());
+        json.put("href", "/app/rest/" + collection + "?locator=" + locator(dimensions));
+        if (start + count < matching.size()) {
+            dimensions.put("start", String.valueOf(start + count));
+            dimensions.put("count", String.valueOf(count));
+            json.put("nextHref", "/app/rest/" + collection + "?locator=" + locator(dimensions));
+        }
+        json.put(field, page.stream().map(toJson).toList());
+        return json(SC_OK, json);
+    }
+
+    private static boolean matches(String condition, String value) {
+        if (!condition.startsWith("(") || !condition.endsWith(")")) {
+            return condition.equals(value);
+        }
+        var parts = dimensions(condition.substring(1, condition.length() - 1));
+        var expected = parts.getOrDefault("value", "");
+        return value != null && switch (parts.getOrDefault("matchType", "equals")) {
+            case "starts-with" -> value.startsWith(expected);
+            case "contains" -> value.contains(expected);
+            default -> value.equals(expected);
+        };
+    }
+
+    private static Map<String, String> dimensions(String locator) {
+        var dimensions = new LinkedHashMap<String, String>();
+        if (locator == null || locator.isEmpty()) {
+            return dimensions;
+        }
+        var depth = 0;
+        var from = 0;
+        for (int i = 0; i <= locator.length(); i++) {
+            var c = i < locator.length() ? locator.charAt(i) : ',';
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                var dimension = locator.substring(from, i);
+                var colon = dimension.indexOf(':');
+                dimensions.put(colon < 0 ? dimension : dimension.substring(0, colon),
+                        colon < 0 ? "" : dimension.substring(colon + 1));
+                from = i + 1;
+            }
+        }
+        return dimensions;
+    }
+
+    private static String locator(Map<String, String> dimensions) {
+        return dimensions.entrySet().stream()
+                .map(dimension -> dimension.getKey() + ":" + dimension.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        var query = new LinkedHashMap<String, String>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (var parameter : rawQuery.split("&")) {
+            var pair = parameter.split("=", 2);
+            query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                    pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+        }
+        return query;
+    }
+
+    private boolean isSystemAdmin(User user) {
+        return hasRole(user, Role.SYSTEM_ADMIN, Scope.GLOBAL.getText());
+    }
+
+    private boolean isProjectAdmin(User user, String projectId) {
+        if (isSystemAdmin(user) || hasRole(user, Role.PROJECT_ADMIN, Scope.GLOBAL.getText())) {
+            return true;
+        }
+        for (var id = projectId; id != null; id = projects.containsKey(id) ? projects.get(id).getParentProjectId() : null) {
+            if (hasRole(user, Role.PROJECT_ADMIN, Scope.PROJECT.getText() + id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasRole(User user, Role role, String scope) {
+        return user.getRoles() != null && user.getRoles().getRole() != null && user.getRoles().getRole().stream()
+                .anyMatch(userRole -> role.getText().equals(userRole.getRoleId()) && scope.equals(userRole.getScope()));
+    }
+
+    private StubResponse validateId(String entity, String id) {
+        if (id.isEmpty()) {
+            return new StubResponse(SC_INTERNAL_SERVER_ERROR, entity + " ID must not be empty.");
+        }
+        if (id.length() > MAX_ID_LENGTH) {
+            return new StubResponse(SC_INTERNAL_SERVER_ERROR, entity + " ID \"" + id + "\" is invalid: it is "
+                    + id.length() + " characters long while the maximum length is " + MAX_ID_LENGTH + ".");
+        }
+        if (!isLatinLetter(id.charAt(0))) {
+            return new StubResponse(SC_INTERNAL_SERVER_ERROR, entity + " ID \"" + id
+                    + "\" is invalid: starts with non-letter character '" + id.charAt(0) + "'. ID should start with a"
+                    + " latin letter and contain only latin letters, digits and underscores (at most 225 characters).");
+        }
+        if (!VALID_ID.matcher(id).matches()) {
+            return new StubResponse(SC_INTERNAL_SERVER_ERROR, entity + " ID \"" + id + "\" is invalid: contains"
+                    + " unsupported character. ID should start with a latin letter and contain only latin letters,"
+                    + " digits and underscores (at most 225 characters).");
+        }
+        return null;
+    }
+
+    private String generateId(String parentId, String name) {
+        var base = (ROOT_PROJECT.equals(parentId) ? "" : parentId + "_") + name.replaceAll("[^A-Za-z0-9_]", "");
+        if (base.isEmpty() || !isLatinLetter(base.charAt(0))) {
+            base = "Id" + base;
+        }
+        var id = base;
+        for (int i = 2; projects.containsKey(id) || buildTypes.containsKey(id); i++) {
+            id = base + i;
+        }
+        return id;
+    }
+
+    private static boolean isLatinLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static String id(String locator) {
+        return locator != null && locator.startsWith("id:") ? locator.substring("id:".length()) : locator;
+    }
+
+    private static String username(String locator) {
+        return locator != null && locator.startsWith("username:") ? locator.substring("username:".length()) : locator;
+    }
+
+    private StubResponse json(int status, Object body) {
+        return new StubResponse(status, gson.toJson(body));
+    }
+
+    private static StubResponse notFound(String entity, String locator) {
+        return new StubResponse(SC_NOT_FOUND, "Responding with error, status code: 404 (Not Found).\n"
+                + "Details: jetbrains.buildServer.server.rest.errors.NotFoundException: No " + entity
+                + " found by locator 'count:1,id:" + id(locator) + "'.");
+    }
+
+    private static StubResponse forbidden(String permission) {
+        return new StubResponse(SC_FORBIDDEN, "Responding with error, status code: 403 (Forbidden).\n"
+                + "Details: jetbrains.buildServer.serverSide.auth.AccessDeniedException: You do not have enough"
+                + " permissions to " + permission);
+    }
+
+    private static Map<String, Object> projectJson(Project project) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("id", project.getId());
+        json.put("name", project.getName());
+        json.put("parentProjectId", project.getParentProjectId());
+        json.put("href", "/app/rest/projects/id:" + project.getId());
+        return json;
+    }
+
+    /**
+     * A single project embeds its subprojects and build types, as TeamCity does.
+     */
+    private Map<String, Object> projectDetailsJson(Project project) {
+        var json = projectJson(project);
+        var subprojects = projects.values().stream()
+                .filter(subproject -> project.getId().equals(subproject.getParentProjectId()))
+                .map(TeamCityStub::projectJson)
+                .toList();
+        json.put("projects", Map.of("count", subprojects.size(), "project", subprojects));
+        var ownBuildTypes = buildTypes.values().stream()
+                .filter(buildType -> project.getId().equals(buildType.getProject().getId()))
+                .map(TeamCityStub::buildTypeJson)
+                .toList();
+        json.put("buildTypes", Map.of("count", ownBuildTypes.size(), "buildType", ownBuildTypes));
+        return json;
+    }
+
+    private static Map<String, Object> buildTypeJson(BuildType buildType) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("id", buildType.getId());
+        json.put("name", buildType.getName());
+        json.put("projectId", buildType.getProject().getId());
+        json.put("project", Map.of("id", buildType.getProject().getId(), "name", buildType.getProject().getName()));
+        json.put("href", "/app/rest/buildTypes/id:" + buildType.getId());
+        if (buildType.getParameters() != null) {
+            json.put("parameters", buildType.getParameters());
+        }
+        if (buildType.getSteps() != null) {
+            json.put("steps", buildType.getSteps());
+        }
+        return json;
+    }
+
+    private static Map<String, Object> userJson(User user) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("username", user.getUsername());
+        json.put("email", user.getEmail());
+        json.put("roles", user.getRoles());
+        json.put("href", "/app/rest/users/username:" + user.getUsername());
+        return json;
+    }
+}
@@ -1,23 +1,32 @@
 package com.example.teamcity.api;
 
+import com.example.teamcity.api.generators.FixturePool;
 import com.example.teamcity.api.generators.TestDataStorage;
 import com.example.teamcity.api.requests.CheckedRequests;
 import com.example.teamcity.api.requests.UncheckedRequests;
 import com.example.teamcity.api.spec.Specifications;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 
 public class BaseApiTest extends BaseTest {
-    public TestDataStorage testDataStorage;
+    public final TestDataStorage testDataStorage = TestDataStorage.getStorage();
+    public final FixturePool fixturePool = FixturePool.getPool();
     public CheckedRequests checkedWithSuperUser = new CheckedRequests(Specifications.getSpec().superUserSpec());
     public UncheckedRequests uncheckedWithSuperUser = new UncheckedRequests(Specifications.getSpec().superUserSpec());
 
+    @BeforeSuite(alwaysRun = true)
+    public void prewarmFixtures() {
+        fixturePool.prewarm();
+    }
+
     @BeforeMethod
-    public void setupTest() {
-        testDataStorage = TestDataStorage.getStorage();
+    public void setupTest(ITestResult result) {
+        testDataStorage.openContext(result);
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void cleanTest() {
         testDataStorage.delete();
     }
@@ -1,19 +1,71 @@
 package com.example.teamcity.api;
 
+import com.example.teamcity.api.config.Config;
+import com.example.teamcity.api.generators.OrphanSweeper;
+import com.example.teamcity.api.generators.RandomData;
+import com.example.teamcity.api.metrics.RequestMetrics;
+import com.example.teamcity.api.spec.RequestLog;
+import io.qameta.allure.Allure;
 import org.assertj.core.api.SoftAssertions;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class BaseTest {
-    protected SoftAssertions softy;
+    private final ThreadLocal<SoftAssertions> softy = new ThreadLocal<>();
+
+    protected SoftAssertions softy() {
+        return softy.get();
+    }
+
+    @BeforeSuite(alwaysRun = true)
+    public void sweepOrphans() {
+        if (Config.getBooleanProperty("sweep.before.suite")) {
+            new OrphanSweeper(Duration.ofMinutes(Config.getIntProperty("sweep.min.age.minutes", 360))).sweep(false);
+        }
+    }
 
     @BeforeMethod
-    public void beforeTest() {
-        softy = new SoftAssertions();
+    public void beforeTest(Method method) {
+        RandomData.seed(method.getDeclaringClass().getName() + "." + method.getName());
+        softy.set(new SoftAssertions());
+        RequestLog.open();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterTest(ITestResult result) {
+        var softAssertions = softy.get();
+        softy.remove();
+        var requestLog = RequestLog.drain();
+        try {
+            if (softAssertions != null) {
+                softAssertions.assertAll();
+            }
+        } catch (AssertionError e) {
+            attachRequestLog(requestLog);
+            throw e;
+        }
+        if (!result.isSuccess()) {
+            attachRequestLog(requestLog);
+        }
+    }
+
+    private void attachRequestLog(String requestLog) {
+        if (!requestLog.isEmpty()) {
+            Allure.addAttachment("Requests", "text/plain", requestLog, ".txt");
+        }
     }
 
-    @AfterMethod
-    public void afterTest() {
-        softy.assertAll();
+    @AfterSuite(alwaysRun = true)
+    public void publishRequestMetrics() {
+        var metrics = RequestMetrics.getMetrics();
+        metrics.writeJson(Path.of(Config.getProperty("metrics.output")));
+        Allure.addAttachment("Request latency", "application/json", metrics.toJson(), ".json");
     }
 }
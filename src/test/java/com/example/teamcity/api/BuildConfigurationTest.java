@@ -1,9 +1,16 @@
 package com.example.teamcity.api;
 
+import com.example.teamcity.api.config.Config;
 import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.enums.Scope;
 import com.example.teamcity.api.generators.RandomData;
+import com.example.teamcity.api.generators.TestData;
 import com.example.teamcity.api.generators.TestDataGenerator;
 import com.example.teamcity.api.models.BuildType;
+import com.example.teamcity.api.models.NewProjectDescription;
+import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.requests.BulkRequests;
+import com.example.teamcity.api.requests.cache.ResponseCache;
 import com.example.teamcity.api.requests.checked.CheckedBuildConfig;
 import com.example.teamcity.api.requests.checked.CheckedProject;
 import com.example.teamcity.api.requests.checked.CheckedUser;
@@ -13,6 +20,9 @@ import com.example.teamcity.api.spec.Specifications;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class BuildConfigurationTest extends BaseApiTest {
 
     @Test
@@ -24,16 +34,25 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .authSpec(testData.getUser()))
                 .create(testData.getProject());
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+        softy().assertThat(project.getId()).isEqualTo(testData.getProject().getId());
     }
 
     @Test
-    public void projectDeveloperDontHaveRightsToCreateBuildConfig() {
+    public void projectShouldListBuildConfigCreatedAfterItWasRead() {
         var testData = testDataStorage.addTestData();
-        testData.getUser().setRoles(TestDataGenerator
-                .generateRoles(Role.PROJECT_DEVELOPER, "g"));
-        checkedWithSuperUser.getUserRequest().create(testData.getUser());
         checkedWithSuperUser.getProjectRequest().create(testData.getProject());
+        var before = uncheckedWithSuperUser.getProjectRequest().get(testData.getProject().getId()).asString();
+
+        checkedWithSuperUser.getBuildConfigRequest().create(testData.getBuildType());
+        var after = uncheckedWithSuperUser.getProjectRequest().get(testData.getProject().getId()).asString();
+
+        softy().assertThat(before).doesNotContain(testData.getBuildType().getId());
+        softy().assertThat(after).contains(testData.getBuildType().getId());
+    }
+
+    @Test
+    public void projectDeveloperDontHaveRightsToCreateBuildConfig() {
+        var testData = fixturePool.lease(Role.PROJECT_DEVELOPER, Scope.GLOBAL);
 
         new UncheckedBuildConfig(Specifications.getSpec()
                 .authSpec(testData.getUser()))
@@ -43,12 +62,7 @@ public class BuildConfigurationTest extends BaseApiTest {
 
     @Test
     public void projectViewerDontHaveRightsToCreateBuildConfig() {
-        var testData = testDataStorage.addTestData();
-        testData.getUser().setRoles(TestDataGenerator
-                .generateRoles(Role.PROJECT_VIEWER, "g"));
-
-        checkedWithSuperUser.getUserRequest().create(testData.getUser());
-        checkedWithSuperUser.getProjectRequest().create(testData.getProject());
+        var testData = fixturePool.lease(Role.PROJECT_VIEWER, Scope.GLOBAL);
 
         new UncheckedBuildConfig(Specifications.getSpec()
                 .authSpec(testData.getUser()))
@@ -58,11 +72,7 @@ public class BuildConfigurationTest extends BaseApiTest {
 
     @Test
     public void agentManagerDontHaveRightsToCreateBuildConfig() {
-        var testData = testDataStorage.addTestData();
-        testData.getUser().setRoles(TestDataGenerator
-                .generateRoles(Role.AGENT_MANAGER, "g"));
-        checkedWithSuperUser.getUserRequest().create(testData.getUser());
-        checkedWithSuperUser.getProjectRequest().create(testData.getProject());
+        var testData = fixturePool.lease(Role.AGENT_MANAGER, Scope.GLOBAL);
 
         new UncheckedBuildConfig(Specifications.getSpec()
                 .authSpec(testData.getUser()))
@@ -81,7 +91,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .authSpec(testData.getUser()))
                 .create(testData.getBuildType());
 
-        softy.assertThat(buildType.getId()).isEqualTo(testData.getBuildType().getId());
+        softy().assertThat(buildType.getId()).isEqualTo(testData.getBuildType().getId());
     }
 
     @Test
@@ -109,7 +119,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .authSpec(testData.getUser()))
                 .create(testData.getBuildType());
 
-        softy.assertThat(buildType.getName()).isEqualTo(newString);
+        softy().assertThat(buildType.getName()).isEqualTo(newString);
     }
 
     @Test
@@ -121,7 +131,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .authSpec(testData.getUser()))
                 .create(testData.getBuildType());
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getBuildType().getId());
+        softy().assertThat(project.getId()).isEqualTo(testData.getBuildType().getId());
 
         String project1 = new UncheckedBuildConfig(Specifications.getSpec()
                 .authSpec(testData.getUser()))
@@ -129,7 +139,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .then().assertThat().statusCode(HttpStatus.SC_BAD_REQUEST)
                 .extract().asString();
 
-        softy.assertThat(project1.contains("Project with this name already exists: "));
+        softy().assertThat(project1.contains("Project with this name already exists: "));
     }
 
     @Test
@@ -211,7 +221,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .authSpec(testData.getUser()))
                 .create(testData.getBuildType());
 
-        softy.assertThat(buildConfig1.getId()).isEqualTo(testData.getBuildType().getId());
+        softy().assertThat(buildConfig1.getId()).isEqualTo(testData.getBuildType().getId());
 
         testData.getBuildType().setName("newName");
         String buildConfig2 = new UncheckedBuildConfig(Specifications.getSpec()
@@ -220,7 +230,7 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .then().assertThat().statusCode(HttpStatus.SC_BAD_REQUEST)
                 .extract().asString();
 
-        softy.assertThat(buildConfig2.contains("Project ID \"" + testData.getProject().getId()+ "\" is already used by another project"));
+        softy().assertThat(buildConfig2.contains("Project ID \"" + testData.getProject().getId()+ "\" is already used by another project"));
     }
 
     @Test
@@ -274,4 +284,64 @@ public class BuildConfigurationTest extends BaseApiTest {
                 .then().assertThat().statusCode(HttpStatus.SC_BAD_REQUEST)
                 .extract().asString().contains("Project name cannot be empty.");
     }
+
+    @Test
+    public void bulkRequestsShouldCreateBuildTypesInChunks() {
+        var testData = testDataStorage.addTestData();
+        var buildTypes = buildTypes(testData.getProject(), 2 * Config.getIntProperty("bulk.chunk.size", 16) + 1);
+        var bulkData = new ArrayList<>(List.of(TestData.builder().project(testData.getProject()).build()));
+        buildTypes.forEach(buildType -> bulkData.add(TestData.builder().buildType(buildType).build()));
+
+        var result = new BulkRequests(Specifications.getSpec().superUserSpec()).create(bulkData);
+
+        softy().assertThat(result.getProjects()).extracting(Project::getId)
+                .containsExactly(testData.getProject().getId());
+        softy().assertThat(result.getBuildTypes()).extracting(BuildType::getId)
+                .containsExactlyElementsOf(buildTypes.stream().map(BuildType::getId).toList());
+    }
+
+    @Test
+    public void bulkRequestsShouldRollBackOnFailure() {
+        var existing = testDataStorage.addTestData();
+        checkedWithSuperUser.getProjectRequest().create(existing.getProject());
+        var newProject = testDataStorage.addTestData().getProject();
+        var chunkSize = Config.getIntProperty("bulk.chunk.size", 16);
+        var buildTypes = buildTypes(existing.getProject(), 2 * chunkSize + 1);
+        // fails once a full window has been sent, with successes still in flight around it
+        buildTypes.get(chunkSize + 1).setId("invalid id");
+        var bulkData = new ArrayList<>(List.of(TestData.builder().project(newProject).build()));
+        buildTypes.forEach(buildType -> bulkData.add(TestData.builder().buildType(buildType).build()));
+
+        softy().assertThatThrownBy(() -> new BulkRequests(Specifications.getSpec().superUserSpec()).create(bulkData))
+                .isInstanceOf(AssertionError.class);
+
+        ResponseCache.bypass(() -> uncheckedWithSuperUser.getProjectRequest().get(newProject.getId()))
+                .then().assertThat().statusCode(HttpStatus.SC_NOT_FOUND);
+        buildTypes.stream()
+                .filter(buildType -> !"invalid id".equals(buildType.getId()))
+                .forEach(buildType -> ResponseCache.bypass(() -> uncheckedWithSuperUser.getBuildConfigRequest()
+                                .get(buildType.getId()))
+                        .then().assertThat().statusCode(HttpStatus.SC_NOT_FOUND));
+    }
+
+    @Test
+    public void bulkRequestsShouldRejectProjectsWithoutId() {
+        var project = NewProjectDescription.builder().name(RandomData.getString()).build();
+
+        softy().assertThatThrownBy(() -> new BulkRequests(Specifications.getSpec().superUserSpec())
+                        .create(List.of(TestData.builder().project(project).build())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<BuildType> buildTypes(NewProjectDescription project, int count) {
+        var buildTypes = new ArrayList<BuildType>();
+        for (int i = 0; i < count; i++) {
+            buildTypes.add(BuildType.builder()
+                    .id(RandomData.getString())
+                    .name(RandomData.getString())
+                    .project(project)
+                    .build());
+        }
+        return buildTypes;
+    }
 }
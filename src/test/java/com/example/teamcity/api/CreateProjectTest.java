@@ -1,10 +1,13 @@
 package com.example.teamcity.api;
 
 import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.generators.OrphanSweeper;
 import com.example.teamcity.api.generators.RandomData;
+import com.example.teamcity.api.generators.SetupPlanner;
 import com.example.teamcity.api.generators.TestDataGenerator;
 import com.example.teamcity.api.models.NewProjectDescription;
 import com.example.teamcity.api.models.Project;
+import com.example.teamcity.api.requests.cache.ResponseCache;
 import com.example.teamcity.api.requests.checked.CheckedProject;
 import com.example.teamcity.api.requests.checked.CheckedUser;
 import com.example.teamcity.api.requests.unchecked.UncheckedProject;
@@ -12,6 +15,9 @@ import com.example.teamcity.api.spec.Specifications;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
+import java.util.List;
+
 public class CreateProjectTest extends BaseApiTest{
 
     @Test
@@ -21,9 +27,9 @@ public class CreateProjectTest extends BaseApiTest{
         new CheckedUser(Specifications.getSpec().superUserSpec()).create(testData.getUser());
         var project = new CheckedProject(Specifications.getSpec()
                 .authSpec(testData.getUser()))
-                .create(testData.getProject());
+                .createAndExtract(testData.getProject(), "id");
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+        softy().assertThat(project.get("id")).isEqualTo(testData.getProject().getId());
     }
 
     @Test
@@ -73,9 +79,9 @@ public class CreateProjectTest extends BaseApiTest{
         checkedWithSuperUser.getUserRequest().create(testData.getUser());
         var project = new CheckedProject(Specifications.getSpec()
                 .authSpec(testData.getUser()))
-                .create(testData.getProject());
+                .createAndExtract(testData.getProject(), "id");
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+        softy().assertThat(project.get("id")).isEqualTo(testData.getProject().getId());
     }
 
     @Test
@@ -102,7 +108,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .authSpec(testData.getUser()))
                 .create(testData.getProject());
 
-        softy.assertThat(project.getName()).isEqualTo(newString);
+        softy().assertThat(project.getName()).isEqualTo(newString);
     }
 
     @Test
@@ -113,7 +119,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .authSpec(testData.getUser()))
                 .create(testData.getProject());
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+        softy().assertThat(project.getId()).isEqualTo(testData.getProject().getId());
 
         String project1 = new UncheckedProject(Specifications.getSpec()
                 .authSpec(testData.getUser()))
@@ -121,7 +127,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .then().assertThat().statusCode(HttpStatus.SC_BAD_REQUEST)
                 .extract().asString();
 
-        softy.assertThat(project1.contains("Project with this name already exists: "));
+        softy().assertThat(project1.contains("Project with this name already exists: "));
     }
 
     @Test
@@ -213,7 +219,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .authSpec(testData.getUser()))
                 .create(testData.getProject());
 
-        softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+        softy().assertThat(project.getId()).isEqualTo(testData.getProject().getId());
 
         testData.getProject().setName("newName");
         String project1 = new UncheckedProject(Specifications.getSpec()
@@ -222,7 +228,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .then().assertThat().statusCode(HttpStatus.SC_BAD_REQUEST)
                 .extract().asString();
 
-        softy.assertThat(project1.contains("Project ID \"" + testData.getProject().getId()+ "\" is already used by another project"));
+        softy().assertThat(project1.contains("Project ID \"" + testData.getProject().getId()+ "\" is already used by another project"));
     }
 
     @Test
@@ -264,7 +270,7 @@ public class CreateProjectTest extends BaseApiTest{
                 .authSpec(testData.getUser()))
                 .create(projectDescription);
 
-        softy.assertThat(project.getName().equals(testData.getProject().getName()));
+        softy().assertThat(project.getName().equals(testData.getProject().getName()));
     }
 
     @Test
@@ -282,4 +288,48 @@ public class CreateProjectTest extends BaseApiTest{
                 .authSpec(testData.getUser()))
                 .create(projectDescription);
     }
+
+    @Test
+    public void setupPlannerShouldCreateDependentEntities() {
+        var parent = testDataStorage.addTestData();
+        var child = testDataStorage.addTestData();
+        child.getProject().setParentProject(Project.builder().locator(parent.getProject().getId()).build());
+        child.getUser().setRoles(TestDataGenerator
+                .generateRoles(Role.PROJECT_ADMIN, "p:" + child.getProject().getId()));
+
+        new SetupPlanner().create(List.of(child, parent));
+
+        var project = new CheckedProject(Specifications.getSpec()
+                .authSpec(child.getUser()))
+                .get(child.getProject().getId());
+
+        softy().assertThat(project.getParentProjectId()).isEqualTo(parent.getProject().getId());
+    }
+
+    @Test
+    public void setupPlannerShouldRollBackOnFailure() {
+        var testData = testDataStorage.addTestData();
+        var invalid = testDataStorage.addTestData();
+        invalid.getBuildType().setId("invalid id");
+
+        softy().assertThatThrownBy(() -> new SetupPlanner().create(List.of(testData, invalid)))
+                .isInstanceOf(AssertionError.class);
+
+        List.of(testData, invalid).forEach(created -> ResponseCache.bypass(() -> uncheckedWithSuperUser
+                        .getProjectRequest()
+                        .get(created.getProject().getId()))
+                .then().assertThat().statusCode(HttpStatus.SC_NOT_FOUND));
+    }
+
+    @Test
+    public void orphanSweeperShouldKeepEntitiesOfRecentRuns() {
+        var testData = testDataStorage.addTestData();
+        checkedWithSuperUser.getProjectRequest().create(testData.getProject());
+
+        var recent = new OrphanSweeper(Duration.ofDays(1)).sweep(true);
+        var all = new OrphanSweeper(Duration.ZERO).sweep(true);
+
+        softy().assertThat(recent.getDeleted()).doesNotContain(testData.getProject().getId());
+        softy().assertThat(all.getDeleted()).contains(testData.getProject().getId());
+    }
 }
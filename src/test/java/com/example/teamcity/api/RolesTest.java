@@ -1,8 +1,10 @@
 package com.example.teamcity.api;
 
 import com.example.teamcity.api.enums.Role;
+import com.example.teamcity.api.enums.Scope;
 import com.example.teamcity.api.generators.TestDataGenerator;
 import com.example.teamcity.api.requests.CheckedRequests;
+import com.example.teamcity.api.requests.cache.ResponseCache;
 import com.example.teamcity.api.requests.checked.CheckedBuildConfig;
 import com.example.teamcity.api.requests.checked.CheckedProject;
 import com.example.teamcity.api.requests.unchecked.UncheckedBuildConfig;
@@ -21,8 +23,8 @@ public class RolesTest extends BaseApiTest {
                 .create(testData.getProject())
                 .then().assertThat().statusCode(HttpStatus.SC_UNAUTHORIZED)
                 .body(Matchers.containsString("Authentication required"));
-        uncheckedWithSuperUser.getProjectRequest()
-                .get(testData.getProject().getId())
+        ResponseCache.bypass(() -> uncheckedWithSuperUser.getProjectRequest()
+                        .get(testData.getProject().getId()))
                 .then().assertThat().statusCode(org.apache.hc.core5.http.HttpStatus.SC_NOT_FOUND)
                 .body(Matchers.containsString("No project found by locator 'count:1,id:" + testData.getProject().getId()));
     }
@@ -39,25 +41,18 @@ public class RolesTest extends BaseApiTest {
                .authSpec(testData.getUser()))
                .create(testData.getProject());
 
-       softy.assertThat(project.getId()).isEqualTo(testData.getProject().getId());
+       softy().assertThat(project.getId()).isEqualTo(testData.getProject().getId());
 
    }
 
    @Test
     public void projectAdminShouldHaveRightsToCreateBuildConfigToHisProject() {
-       var testData = testDataStorage.addTestData();
-
-       checkedWithSuperUser.getProjectRequest()
-               .create(testData.getProject());
-       testData.getUser().setRoles(TestDataGenerator.generateRoles(Role.PROJECT_ADMIN, "p:" + testData.getProject().getId()));
-
-       checkedWithSuperUser.getUserRequest()
-               .create(testData.getUser());
+       var testData = fixturePool.lease(Role.PROJECT_ADMIN, Scope.PROJECT);
 
        var buildConfig = new CheckedBuildConfig(Specifications.getSpec().authSpec(testData.getUser()))
                .create(testData.getBuildType());
 
-       softy.assertThat(buildConfig.getId()).isEqualTo(testData.getBuildType().getId());
+       softy().assertThat(buildConfig.getId()).isEqualTo(testData.getBuildType().getId());
     }
 
    @Test
@@ -82,7 +77,7 @@ public class RolesTest extends BaseApiTest {
                .create(firsttestData.getBuildType())
                .then().assertThat().statusCode(HttpStatus.SC_FORBIDDEN);
 
-//       softy.assertThat(buildConfig.getId()).isEqualTo(firsttestData.getBuildType().getId());
+//       softy().assertThat(buildConfig.getId()).isEqualTo(firsttestData.getBuildType().getId());
 
    }
 }
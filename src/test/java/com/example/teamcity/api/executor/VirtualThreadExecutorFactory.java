@@ -0,0 +1,51 @@
+package com.example.teamcity.api.executor;
+
+import org.testng.IDynamicGraph;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps TestNG's graph executor for test methods but gives it a virtual thread factory (JDK 21+). Installed with
+ * TestNG's {@code -threadpoolfactoryclass} option, see {@link VirtualThreadTestNG}.
+ */
+public class VirtualThreadExecutorFactory extends DefaultThreadPoolExecutorFactory {
+    private static volatile boolean installed;
+
+    private final ThreadFactory threadFactory;
+
+    public VirtualThreadExecutorFactory() {
+        installed = true;
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            var builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "testng-virtual-", 0L);
+            threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer", e);
+        }
+    }
+
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                           TimeUnit unit, BlockingQueue<Runnable> workQueue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        var executor = super.newTestMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator);
+        ((ThreadPoolExecutor) executor).setThreadFactory(threadFactory);
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.teamcity.api.executor;
+
+import com.example.teamcity.api.config.Config;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * With {@code test.executor = virtual} runs suites with parallel="methods" and {@code test.threads} threads,
+ * each test method on its own virtual thread. Registered through META-INF/services; the virtual threads come from
+ * {@link VirtualThreadExecutorFactory}, so the suite has to be started through {@link VirtualThreadTestNG}.
+ */
+public class VirtualThreadSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!"virtual".equalsIgnoreCase(Config.getProperty("test.executor"))) {
+            return;
+        }
+        // without the factory every one of the test.threads threads would be a platform thread
+        if (!VirtualThreadExecutorFactory.isInstalled()) {
+            System.err.println("test.executor = virtual needs " + VirtualThreadTestNG.class.getName()
+                    + " as the TestNG launcher, running the suites as configured");
+            return;
+        }
+        var threadCount = Config.getIntProperty("test.threads", 1000);
+        suites.forEach(suite -> {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(threadCount);
+            suite.getTests().forEach(test -> {
+                test.setParallel(XmlSuite.ParallelMode.METHODS);
+                test.setThreadCount(threadCount);
+            });
+        });
+    }
+}
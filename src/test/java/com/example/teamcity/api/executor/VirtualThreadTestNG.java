@@ -0,0 +1,24 @@
+package com.example.teamcity.api.executor;
+
+import org.testng.TestNG;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TestNG command line with {@code test.executor = virtual} and the {@link VirtualThreadExecutorFactory} passed
+ * as {@code -threadpoolfactoryclass}, which surefire does not forward. Takes the usual TestNG arguments, e.g.
+ * {@code -testclass com.example.teamcity.api.CreateProjectTest} or a suite XML.
+ */
+public class VirtualThreadTestNG {
+
+    private VirtualThreadTestNG() {}
+
+    public static void main(String[] args) {
+        System.setProperty("test.executor", "virtual");
+        var arguments = new ArrayList<>(List.of("-threadpoolfactoryclass",
+                VirtualThreadExecutorFactory.class.getName()));
+        arguments.addAll(List.of(args));
+        TestNG.main(arguments.toArray(String[]::new));
+    }
+}
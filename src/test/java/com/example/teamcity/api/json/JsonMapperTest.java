@@ -0,0 +1,61 @@
+package com.example.teamcity.api.json;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonMapperTest {
+    private final JsonMapper jsonMapper = JsonMapper.getMapper();
+
+    @DataProvider
+    public Object[][] models() {
+        return JsonMapper.getModels().stream()
+                .map(model -> new Object[]{model})
+                .toArray(Object[][]::new);
+    }
+
+    @Test(description = "Json mapper should write and read every declared field of a model", dataProvider = "models")
+    public void jsonMapperShouldMapAllModelFields(Class<?> model) throws ReflectiveOperationException {
+        var value = model.getDeclaredConstructor().newInstance();
+        for (var field : instanceFields(model)) {
+            field.setAccessible(true);
+            field.set(value, sample(field));
+        }
+
+        var json = jsonMapper.getGson().toJsonTree(value).getAsJsonObject();
+
+        assertThat(json.keySet())
+                .as("JSON fields of %s", model.getSimpleName())
+                .containsExactlyInAnyOrderElementsOf(instanceFields(model).stream().map(Field::getName).toList());
+        assertThat(jsonMapper.getGson().fromJson(json, model)).isEqualTo(value);
+    }
+
+    private static List<Field> instanceFields(Class<?> model) {
+        return Arrays.stream(model.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .toList();
+    }
+
+    private static Object sample(Field field) throws ReflectiveOperationException {
+        var type = field.getType();
+        if (type == String.class) {
+            return field.getName() + "Value";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return true;
+        }
+        if (type == List.class) {
+            return List.of();
+        }
+        return type.getDeclaredConstructor().newInstance();
+    }
+}
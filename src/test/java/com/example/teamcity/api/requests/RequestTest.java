@@ -0,0 +1,38 @@
+package com.example.teamcity.api.requests;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_CONFLICT;
+import static org.apache.http.HttpStatus.SC_FORBIDDEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestTest {
+
+    @DataProvider
+    public Object[][] responses() {
+        return new Object[][]{
+                {SC_BAD_REQUEST, "Project ID \"id\" is already used by another project", true},
+                {SC_BAD_REQUEST, "Build configuration with name \"name\" already exists in project: \"project\"", true},
+                {SC_BAD_REQUEST, "Cannot create user as user with the same username already exists", true},
+                {SC_BAD_REQUEST, "Build is already running", false},
+                {SC_FORBIDDEN, "You do not have enough permissions, the project already exists", false},
+                {SC_CONFLICT, "Entity already exists", false},
+        };
+    }
+
+    @Test(description = "Only a duplicate rejection of a create should count as already existing",
+            dataProvider = "responses")
+    public void requestShouldRecognizeOnlyDuplicateRejections(int statusCode, String body, boolean alreadyExists) {
+        Response response = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setHeader("Content-Type", "text/plain")
+                .setBody(body)
+                .build();
+
+        assertThat(Request.isAlreadyExists(response)).isEqualTo(alreadyExists);
+    }
+}